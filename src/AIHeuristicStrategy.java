@@ -9,30 +9,34 @@ public class AIHeuristicStrategy implements SolverStrategy {
     private int height;
     
     private SimpleLineSolver lineSolver;
+    private boolean probingEnabled = true;
+    private SolveBudget budget = SolveBudget.unlimited();
+    private boolean backjumpingEnabled = true;
+    private boolean lineBranchingEnabled = false;
+    private RestartPolicy restartPolicy = RestartPolicy.none();
+    private int transpositionTableMb = DEFAULT_TRANSPOSITION_MB;
+    private boolean symmetryBreakingEnabled = false;
+    private int parallelism = 1;
+    private boolean anytimeMode = false;
+    private boolean searchExhausted;
     
    
     private static final int MAX_BACKTRACKS = 250000;
     private static final long MAX_TIME_MS = 120000;
+    private static final int DEFAULT_TRANSPOSITION_MB = 16;
     
 
-    private Map<String, List<CellState[]>> cacheLinesPossibles;
+    // Placements par ligne, indexés par l'état de la ligne (survit au backtracking)
+    private LinePlacementCache cacheLinesPossibles;
     
     private boolean stepByStepMode = false;
-    private Queue<CellChange> changeQueue;
     
-    private static class CellChange {
-        int row, col;
-        CellState state;
-        CellChange(int r, int c, CellState s) {
-            row = r; col = c; state = s;
-        }
-    }
+    // Recherche en cours (solve ou pas à pas)
+    private SearchEngine engine;
     
     public AIHeuristicStrategy() {
         this.stats = new SolverStatistics();
         this.lineSolver = new SimpleLineSolver();
-        this.changeQueue = new LinkedList<>();
-        this.cacheLinesPossibles = new HashMap<>();
     }
     
     @Override
@@ -48,8 +52,10 @@ public class AIHeuristicStrategy implements SolverStrategy {
     @Override
     public void resetStatistics() {
         this.stats = new SolverStatistics();
-        this.changeQueue.clear();
-        this.cacheLinesPossibles.clear();
+        this.engine = null;
+        if (this.cacheLinesPossibles != null) {
+            this.cacheLinesPossibles.clear();
+        }
     }
     
     @Override
@@ -58,17 +64,63 @@ public class AIHeuristicStrategy implements SolverStrategy {
         resetStatistics();
     }
     
+    public void setProbingEnabled(boolean enabled) {
+        this.probingEnabled = enabled;
+    }
+    
+    public void setBackjumpingEnabled(boolean enabled) {
+        this.backjumpingEnabled = enabled;
+    }
+    
+    // Branchement sur la ligne la plus contrainte (un placement par branche) au lieu de la case MRV
+    public void setLineBranchingEnabled(boolean enabled) {
+        this.lineBranchingEnabled = enabled;
+    }
+    
+    // Redémarrages de la recherche séquentielle (Luby, géométrique ou aucun)
+    public void setRestartPolicy(RestartPolicy policy) {
+        this.restartPolicy = policy;
+    }
+    
+    // Taille de la table de transposition des états morts, en Mo (0 = désactivée)
+    public void setTranspositionTableMb(int megabytes) {
+        this.transpositionTableMb = megabytes;
+    }
+    
+    // Élagage des branches symétriques quand les indices sont invariants par miroir ou rotation.
+    // Désactivé par défaut : la solution canonique n'est pas forcément la première que trouve l'heuristique
+    public void setSymmetryBreakingEnabled(boolean enabled) {
+        this.symmetryBreakingEnabled = enabled;
+    }
+    
+    // Nombre de threads de la recherche (1 = séquentielle)
+    public void setParallelism(int threads) {
+        this.parallelism = threads;
+    }
+    
+    @Override
+    public void setAnytimeMode(boolean enabled) {
+        this.anytimeMode = enabled;
+    }
+    
     @Override
     public boolean solve(Nonogram nonogram) {
+        return solve(nonogram, SolveBudget.ofTimeout(MAX_TIME_MS));
+    }
+    
+    @Override
+    public boolean solve(Nonogram nonogram, SolveBudget budget) {
         this.nonogram = nonogram;
+        this.budget = budget;
+        this.searchExhausted = false;
         this.width = nonogram.getWidth();
         this.height = nonogram.getHeight();
         
       
         if (!stepByStepMode) {
             resetStatistics();
-            this.cacheLinesPossibles.clear();
         }
+        this.cacheLinesPossibles = new LinePlacementCache(nonogram.getClues());
         
         long startTime = System.currentTimeMillis();
         
@@ -76,12 +128,24 @@ public class AIHeuristicStrategy implements SolverStrategy {
         applyUltraAggressiveDeduction();
         stats.setCellsSolvedByDeduction(countDeterminedCells());
         
+        // PHASE 1b : Sondage des cases restantes
+        boolean consistent = true;
+        if (probingEnabled && !nonogram.isSolved()) {
+            FailedLiteralProber prober = new FailedLiteralProber();
+            prober.setBudget(budget);
+            consistent = prober.probe(nonogram);
+            stats.setProbeCount(prober.getProbes());
+            stats.setCellsSolvedByProbing(prober.getCellsWon());
+        }
+        
         boolean solved;
-        if (nonogram.isSolved()) {
+        if (!consistent) {
+            solved = false;
+        } else if (nonogram.isSolved()) {
             solved = true;
         } else {
-            // PHASE 2 : Backtracking avec MRV
-            solved = mrvBacktrack(startTime, 0);
+            // PHASE 2 : Recherche MRV sur le moteur itératif, composante par composante
+            solved = solveByComponents(budget);
         }
         
         // Statistiques finales
@@ -93,12 +157,17 @@ public class AIHeuristicStrategy implements SolverStrategy {
         int determinedCells = countDeterminedCells();
         stats.setCompletionPercentage((determinedCells * 100.0) / totalCells);
         stats.setCellsSolvedByGuessing(determinedCells - stats.getCellsSolvedByDeduction());
+        stats.setCacheHits(cacheLinesPossibles.getHits());
+        stats.setCacheLookups(cacheLinesPossibles.getHits() + cacheLinesPossibles.getRefinements()
+                + cacheLinesPossibles.getMisses());
         
         if (!solved) {
-            if (stats.getBacktrackCount() >= MAX_BACKTRACKS) {
+            if (!consistent || searchExhausted) {
+                stats.setErrorMessage("Contradiction détectée");
+            } else if (stats.getBacktrackCount() >= MAX_BACKTRACKS) {
                 stats.setErrorMessage("Limite de backtracks atteinte");
             } else {
-                stats.setErrorMessage("Timeout");
+                stats.setErrorMessage(budget.stopReason(stats.getTotalSteps()));
             }
         }
         
@@ -111,14 +180,15 @@ public class AIHeuristicStrategy implements SolverStrategy {
         int iterations = 0;
         int maxIterations = 100;
         
-        while (progress && iterations < maxIterations && !nonogram.isSolved()) {
+        while (progress && iterations < maxIterations && !nonogram.isSolved()
+                && !budget.isCancelled() && !budget.isExpired()) {
             progress = false;
             iterations++;
             stats.incrementSteps();
             
             // Technique 1 : Line solving multiple passes
             for (int pass = 0; pass < 3; pass++) {
-                if (lineSolver.solve(nonogram)) {
+                if (lineSolver.solve(nonogram, budget)) {
                     progress = true;
                 }
             }
@@ -174,67 +244,24 @@ public class AIHeuristicStrategy implements SolverStrategy {
     
     
     private double calculateProbabilityWithCache(int row, int col) {
-        List<CellState[]> rowSolutions = getPossibleLinesWithCache(
-            getRow(row), 
-            nonogram.getClues().getRowClues()[row],
-            width,
-            true,
-            row
-        );
+        LinePlacements rowSolutions = getPossibleLinesWithCache(getRow(row), true, row);
         
         if (rowSolutions.isEmpty()) return 0.5;
         
-        int rowFilled = 0;
-        for (CellState[] sol : rowSolutions) {
-            if (sol[col] == CellState.FILLED) rowFilled++;
-        }
-        double rowProb = (double) rowFilled / rowSolutions.size();
+        double rowProb = (double) rowSolutions.countFilled(col) / rowSolutions.size();
         
-        List<CellState[]> colSolutions = getPossibleLinesWithCache(
-            getColumn(col),
-            nonogram.getClues().getColClues()[col],
-            height,
-            false,
-            col
-        );
+        LinePlacements colSolutions = getPossibleLinesWithCache(getColumn(col), false, col);
         
         if (colSolutions.isEmpty()) return 0.5;
         
-        int colFilled = 0;
-        for (CellState[] sol : colSolutions) {
-            if (sol[row] == CellState.FILLED) colFilled++;
-        }
-        double colProb = (double) colFilled / colSolutions.size();
+        double colProb = (double) colSolutions.countFilled(row) / colSolutions.size();
         
         return Math.min(rowProb, colProb);
     }
     
    
-    private List<CellState[]> getPossibleLinesWithCache(CellState[] current, int[] clue, 
-                                                         int length, boolean isRow, int index) {
-        String key = generateCacheKey(current, clue, isRow, index);
-        
-        if (cacheLinesPossibles.containsKey(key)) {
-            return cacheLinesPossibles.get(key);
-        }
-        
-        List<CellState[]> result = generatePossibleLines(current, clue, length);
-        cacheLinesPossibles.put(key, result);
-        
-        return result;
-    }
-    
-    private String generateCacheKey(CellState[] line, int[] clue, boolean isRow, int index) {
-        StringBuilder sb = new StringBuilder();
-        sb.append(isRow ? "R" : "C").append(index).append(":");
-        for (CellState c : line) {
-            sb.append(c == CellState.FILLED ? "F" : c == CellState.CROSSED ? "X" : "E");
-        }
-        sb.append(":");
-        for (int i : clue) {
-            sb.append(i).append(",");
-        }
-        return sb.toString();
+    private LinePlacements getPossibleLinesWithCache(CellState[] current, boolean isRow, int index) {
+        return cacheLinesPossibles.get(isRow ? index : height + index, current);
     }
     
    
@@ -244,16 +271,15 @@ public class AIHeuristicStrategy implements SolverStrategy {
         // Pour chaque ligne
         for (int row = 0; row < height; row++) {
             CellState[] line = getRow(row);
-            int[] clue = nonogram.getClues().getRowClues()[row];
             
-            List<CellState[]> solutions = getPossibleLinesWithCache(line, clue, width, true, row);
+            LinePlacements solutions = getPossibleLinesWithCache(line, true, row);
             
             if (solutions.isEmpty()) continue;
             if (solutions.size() == 1) {
                 // Une seule solution possible !
                 for (int col = 0; col < width; col++) {
                     if (line[col] == CellState.EMPTY) {
-                        nonogram.setCell(row, col, solutions.get(0)[col]);
+                        nonogram.setCell(row, col, solutions.isFilled(0, col) ? CellState.FILLED : CellState.CROSSED);
                         stats.incrementDeductionCells();
                         changed = true;
                     }
@@ -264,15 +290,14 @@ public class AIHeuristicStrategy implements SolverStrategy {
         
         for (int col = 0; col < width; col++) {
             CellState[] column = getColumn(col);
-            int[] clue = nonogram.getClues().getColClues()[col];
             
-            List<CellState[]> solutions = getPossibleLinesWithCache(column, clue, height, false, col);
+            LinePlacements solutions = getPossibleLinesWithCache(column, false, col);
             
             if (solutions.isEmpty()) continue;
             if (solutions.size() == 1) {
                 for (int row = 0; row < height; row++) {
                     if (column[row] == CellState.EMPTY) {
-                        nonogram.setCell(row, col, solutions.get(0)[row]);
+                        nonogram.setCell(row, col, solutions.isFilled(0, row) ? CellState.FILLED : CellState.CROSSED);
                         stats.incrementDeductionCells();
                         changed = true;
                     }
@@ -312,25 +337,15 @@ public class AIHeuristicStrategy implements SolverStrategy {
     }
     
     private boolean mustBeFilled(int row, int col) {
-        List<CellState[]> rowSolutions = getPossibleLinesWithCache(
-            getRow(row), nonogram.getClues().getRowClues()[row], width, true, row);
-        
-        for (CellState[] sol : rowSolutions) {
-            if (sol[col] != CellState.FILLED) return false;
-        }
+        LinePlacements rowSolutions = getPossibleLinesWithCache(getRow(row), true, row);
         
-        return !rowSolutions.isEmpty();
+        return !rowSolutions.isEmpty() && rowSolutions.countFilled(col) == rowSolutions.size();
     }
     
     private boolean mustBeCrossed(int row, int col) {
-        List<CellState[]> rowSolutions = getPossibleLinesWithCache(
-            getRow(row), nonogram.getClues().getRowClues()[row], width, true, row);
+        LinePlacements rowSolutions = getPossibleLinesWithCache(getRow(row), true, row);
         
-        for (CellState[] sol : rowSolutions) {
-            if (sol[col] != CellState.CROSSED) return false;
-        }
-        
-        return !rowSolutions.isEmpty();
+        return !rowSolutions.isEmpty() && rowSolutions.countFilled(col) == 0;
     }
     
    
@@ -366,112 +381,93 @@ public class AIHeuristicStrategy implements SolverStrategy {
     
   //  BACKTRACKING avec MRV (Minimum Remaining Values)
     
-    private boolean mrvBacktrack(long startTime, int depth) {
-        stats.incrementSteps();
-        
-        if (System.currentTimeMillis() - startTime > MAX_TIME_MS) return false;
-        if (stats.getBacktrackCount() > MAX_BACKTRACKS) return false;
-        if (depth > width * height) return false;
-        
-        if (nonogram.isSolved()) return true;
-        if (hasContradictionFast()) {
-            stats.incrementBacktracks();
-            return false;
-        }
-        
-        // Déduction rapide
-        for (int i = 0; i < 2; i++) {
-            lineSolver.solve(nonogram);
-            applyCertainCellsWithCache();
-        }
-        
-        if (nonogram.isSolved()) return true;
-        if (hasContradictionFast()) {
-            stats.incrementBacktracks();
-            return false;
-        }
-        
-        //  MRV : Choisir la case avec le moins de solutions possibles
-        CellChoice choice = findBestCellMRV();
-        
-        if (choice == null) {
-            stats.incrementBacktracks();
-            return false;
-        }
-        
-        CellState[][] backup = copyGrid();
-        
-        CellState firstTry = choice.probability > 0.5 ? CellState.FILLED : CellState.CROSSED;
-        CellState secondTry = firstTry == CellState.FILLED ? CellState.CROSSED : CellState.FILLED;
-        
-        nonogram.setCell(choice.row, choice.col, firstTry);
-        cacheLinesPossibles.clear(); // Invalider cache
-        
-        if (mrvBacktrack(startTime, depth + 1)) {
-            return true;
-        }
-        
-        stats.incrementBacktracks();
-        restoreGrid(backup);
-        cacheLinesPossibles.clear();
-        
-        nonogram.setCell(choice.row, choice.col, secondTry);
-        
-        if (mrvBacktrack(startTime, depth + 1)) {
-            return true;
-        }
-        
-        stats.incrementBacktracks();
-        restoreGrid(backup);
-        cacheLinesPossibles.clear();
-        return false;
+    private SearchEngine createEngine() {
+        SearchEngine search = new SearchEngine(Propagator.fromNonogram(nonogram),
+                createHeuristic(cacheLinesPossibles), stats);
+        search.setBackjumpingEnabled(backjumpingEnabled);
+        return search;
+    }
+    
+    // En parallèle, chaque heuristique a son propre cache de placements
+    private boolean solveByComponents(SolveBudget budget) {
+        LineClues clues = nonogram.getClues();
+        ComponentSearch search = new ComponentSearch(parallelism > 1
+                ? () -> createHeuristic(new LinePlacementCache(clues))
+                : () -> createHeuristic(cacheLinesPossibles), parallelism);
+        search.setBackjumpingEnabled(backjumpingEnabled);
+        search.setLimits(budget, MAX_BACKTRACKS);
+        search.setRestartPolicy(restartPolicy);
+        search.setTranspositionTableMb(transpositionTableMb);
+        search.setSymmetryBreaking(symmetryBreakingEnabled);
+        AnytimeGrid anytime = anytimeMode ? new AnytimeGrid(width, height) : null;
+        search.setAnytime(anytime);
+        Propagator root = Propagator.fromNonogram(nonogram);
+        boolean found = search.solve(root, stats);
+        searchExhausted = search.isExhausted();
+        if (found) {
+            root.writeTo(nonogram);
+        } else if (anytime != null) {
+            // La complétion (cases déterminées) porte alors sur la meilleure grille partielle
+            anytime.writeTo(nonogram);
+        }
+        return found;
+    }
+    
+    private BranchingHeuristic createHeuristic(LinePlacementCache cache) {
+        return lineBranchingEnabled ? new LineBranchingHeuristic(cache) : new MrvHeuristic();
     }
     
     // HEURISTIQUE MRV : Minimum Remaining Values
-    
-    private CellChoice findBestCellMRV() {
-        CellChoice best = null;
-        double bestScore = Double.MAX_VALUE;
-        
-        for (int row = 0; row < height; row++) {
-            for (int col = 0; col < width; col++) {
-                if (nonogram.getCell(row, col) != CellState.EMPTY) {
-                    continue;
-                }
-                
-                // Compter les solutions possibles
-                List<CellState[]> rowSolutions = getPossibleLinesWithCache(
-                    getRow(row), nonogram.getClues().getRowClues()[row], width, true, row);
-                List<CellState[]> colSolutions = getPossibleLinesWithCache(
-                    getColumn(col), nonogram.getClues().getColClues()[col], height, false, col);
-                
-                if (rowSolutions.isEmpty() || colSolutions.isEmpty()) continue;
-                
-                // Score = nombre moyen de solutions (moins = mieux)
-                double score = (rowSolutions.size() + colSolutions.size()) / 2.0;
-                
-                // Bonus pour certitude
-                double prob = calculateProbabilityWithCache(row, col);
-                double certainty = Math.abs(prob - 0.5);
-                score = score * (1 - certainty); // Favoriser cases certaines
-                
-                if (score < bestScore) {
-                    bestScore = score;
-                    best = new CellChoice(row, col, prob, score);
+    // Nombre de placements et remplissages par case tenus à jour ligne par ligne (DP, sans énumération)
+    
+    static class MrvHeuristic extends IncrementalCellHeuristic {
+        
+        private long[] placements;
+        private long[][] filled;
+        
+        // Tableaux réalloués si la grille n'a plus les mêmes lignes (heuristique réutilisée)
+        @Override
+        protected void init(Propagator propagator) {
+            int lines = propagator.getLineCount();
+            boolean sameShape = placements != null && placements.length == lines;
+            for (int l = 0; sameShape && l < lines; l++) {
+                sameShape = filled[l].length == propagator.lineLength(l);
+            }
+            if (!sameShape) {
+                placements = new long[lines];
+                filled = new long[lines][];
+                for (int l = 0; l < lines; l++) {
+                    filled[l] = new long[propagator.lineLength(l)];
                 }
             }
         }
         
-        return best;
-    }
-    
-    private static class CellChoice {
-        int row, col;
-        double probability;
-        double score;
+        @Override
+        protected void refreshLine(Propagator propagator, int line) {
+            placements[line] = propagator.countPlacements(line, filled[line]);
+        }
+        
+        // Score = nombre moyen de solutions (moins = mieux), favorise les cases certaines
+        @Override
+        protected double priority(Propagator propagator, int row, int col) {
+            int column = propagator.getHeight() + col;
+            if (placements[row] == 0 || placements[column] == 0) {
+                return Double.NaN;
+            }
+            double prob = probability(propagator, row, col);
+            return (placements[row] + placements[column]) / 2.0 * (1 - Math.abs(prob - 0.5));
+        }
+        
+        @Override
+        public byte firstValue(Propagator propagator, int cell) {
+            int width = propagator.getWidth();
+            return probability(propagator, cell / width, cell % width) > 0.5 ? Propagator.FILLED : Propagator.CROSSED;
+        }
         
-        CellChoice(int r, int c, double p, double s) {
-            row = r; col = c; probability = p; score = s;
+        private double probability(Propagator propagator, int row, int col) {
+            int column = propagator.getHeight() + col;
+            return Math.min((double) filled[row][col] / placements[row],
+                    (double) filled[column][row] / placements[column]);
         }
     }
     
@@ -498,232 +494,25 @@ public class AIHeuristicStrategy implements SolverStrategy {
         return true;
     }
     
-    // DÉTECTION RAPIDE DE CONTRADICTION
-     
-    private boolean hasContradictionFast() {
-        for (int row = 0; row < height; row++) {
-            if (isLineContradiction(getRow(row), nonogram.getClues().getRowClues()[row])) {
-                return true;
-            }
-        }
-        
-        for (int col = 0; col < width; col++) {
-            if (isLineContradiction(getColumn(col), nonogram.getClues().getColClues()[col])) {
-                return true;
-            }
-        }
-        
-        return false;
-    }
-    
-    private boolean isLineContradiction(CellState[] line, int[] clue) {
-        List<Integer> completeGroups = new ArrayList<>();
-        int currentCount = 0;
-        boolean hasEmpty = false;
-        
-        for (CellState cell : line) {
-            if (cell == CellState.FILLED) {
-                currentCount++;
-            } else {
-                if (currentCount > 0) {
-                    completeGroups.add(currentCount);
-                    currentCount = 0;
-                }
-                if (cell == CellState.EMPTY) {
-                    hasEmpty = true;
-                }
-            }
-        }
-        if (currentCount > 0) completeGroups.add(currentCount);
-        
-        if (!hasEmpty) {
-            if (completeGroups.size() != clue.length) return true;
-            for (int i = 0; i < completeGroups.size(); i++) {
-                if (!completeGroups.get(i).equals(clue[i])) return true;
-            }
-            return false;
-        }
-        
-        if (completeGroups.size() > clue.length) return true;
-        
-        for (int i = 0; i < completeGroups.size(); i++) {
-            if (completeGroups.get(i) > clue[i]) return true;
-        }
-        
-        return false;
-    }
-    
-   //générattion de lignes possibles 
-    private List<CellState[]> generatePossibleLines(CellState[] current, int[] clue, int length) {
-        List<CellState[]> results = new ArrayList<>();
-        
-        if (clue == null || clue.length == 0 || (clue.length == 1 && clue[0] == 0)) {
-            CellState[] line = new CellState[length];
-            Arrays.fill(line, CellState.CROSSED);
-            if (isCompatible(line, current)) {
-                results.add(line);
-            }
-            return results;
-        }
-        
-        generateLinesRecursive(clue, length, 0, 0, new CellState[length], current, results);
-        return results;
-    }
-    
-    private void generateLinesRecursive(int[] clue, int length, int pos, int clueIndex,
-                                       CellState[] line, CellState[] current,
-                                       List<CellState[]> results) {
-        if (clueIndex >= clue.length) {
-            for (int i = pos; i < length; i++) {
-                line[i] = CellState.CROSSED;
-            }
-            if (isCompatible(line, current)) {
-                results.add(line.clone());
-            }
-            return;
-        }
-        
-        int groupSize = clue[clueIndex];
-        int minSpaceNeeded = groupSize;
-        for (int i = clueIndex + 1; i < clue.length; i++) {
-            minSpaceNeeded += 1 + clue[i];
-        }
-        
-        for (int start = pos; start <= length - minSpaceNeeded; start++) {
-            for (int i = pos; i < start; i++) {
-                line[i] = CellState.CROSSED;
-            }
-            
-            for (int i = start; i < start + groupSize; i++) {
-                line[i] = CellState.FILLED;
-            }
-            
-            int nextPos = start + groupSize;
-            if (clueIndex < clue.length - 1) {
-                if (nextPos < length) {
-                    line[nextPos] = CellState.CROSSED;
-                    nextPos++;
-                }
-            }
-            
-            generateLinesRecursive(clue, length, nextPos, clueIndex + 1, line, current, results);
-        }
-    }
-    
-    private boolean isCompatible(CellState[] generated, CellState[] current) {
-        for (int i = 0; i < generated.length; i++) {
-            if (current[i] == CellState.FILLED && generated[i] != CellState.FILLED) {
-                return false;
-            }
-            if (current[i] == CellState.CROSSED && generated[i] != CellState.CROSSED) {
-                return false;
-            }
-        }
-        return true;
-    }
-    
-  
-    
+    // Un nœud de la vraie recherche par appel ; la grille affiche l'état courant
     @Override
     public boolean executeNextStep(Nonogram nonogram) {
-        // Initialiser si nécessaire
-        if (this.nonogram == null || this.nonogram != nonogram) {
+        if (engine == null || this.nonogram != nonogram) {
             this.nonogram = nonogram;
             this.width = nonogram.getWidth();
             this.height = nonogram.getHeight();
+            this.cacheLinesPossibles = new LinePlacementCache(nonogram.getClues());
+            engine = createEngine();
         }
         
-       
-        if (changeQueue.isEmpty() && stats.getTotalSteps() == 0) {
-            System.out.println("🔍 Préparation solution step-by-step...");
-            
-            
-            Nonogram copy = new Nonogram(width, height, nonogram.getClues(), nonogram.getSolution());
-            AIHeuristicStrategy solver = new AIHeuristicStrategy();
-            
-            System.out.println("🎯 Résolution de la copie...");
-            boolean solved = solver.solve(copy);
-            System.out.println(solved ? "✅ Copie résolue" : "❌ Échec");
-            
-           
-            for (int r = 0; r < height; r++) {
-                for (int c = 0; c < width; c++) {
-                    CellState current = nonogram.getCell(r, c);
-                    CellState target = copy.getCell(r, c);
-                    
-                    if (current != target) {
-                        changeQueue.add(new CellChange(r, c, target));
-                    }
-                }
-            }
-            
-            System.out.println("📋 " + changeQueue.size() + " changements enregistrés");
-            
-            if (changeQueue.isEmpty()) {
-                System.out.println("❌ Aucun changement");
-                return false;
-            }
-        }
-        
-     
-        if (!changeQueue.isEmpty()) {
-            CellChange change = changeQueue.poll();
-            nonogram.setCell(change.row, change.col, change.state);
-            stats.incrementSteps();
-            
-            System.out.println("📝 Étape " + stats.getTotalSteps() + 
-                             " : Case (" + change.row + "," + change.col + ") → " + change.state);
-            
-            return true; 
-        }
-        
-        return false; 
-    }
-   
-    private void prepareStepByStepSolutionFixed() {
-        changeQueue.clear();
-        
-        // Créer une copie indépendante du puzzle
-        Nonogram copy = new Nonogram(width, height, nonogram.getClues(), nonogram.getSolution());
-        
-        // Copier l'état actuel (grille vide normalement)
-        for (int r = 0; r < height; r++) {
-            for (int c = 0; c < width; c++) {
-                copy.setCell(r, c, nonogram.getCell(r, c));
-            }
-        }
-        
-        System.out.println("🎯 Résolution de la copie...");
-        
-        // Créer une nouvelle instance de la stratégie pour résoudre
-        AIHeuristicStrategy tempSolver = new AIHeuristicStrategy();
-        boolean solved = tempSolver.solve(copy);
-        
-        System.out.println(solved ? "✅ Copie résolue" : "❌ Échec résolution");
-        
-        // Comparer et enregistrer tous les changements
-        for (int r = 0; r < height; r++) {
-            for (int c = 0; c < width; c++) {
-                CellState current = nonogram.getCell(r, c);
-                CellState target = copy.getCell(r, c);
-                
-                if (current != target) {
-                    changeQueue.add(new CellChange(r, c, target));
-                }
-            }
-        }
-        
-        System.out.println("📋 " + changeQueue.size() + " changements enregistrés");
+        SearchEngine.Status status = engine.step();
+        engine.getPropagator().writeTo(nonogram);
+        return status == SearchEngine.Status.RUNNING;
     }
     
-    
+    @Override
     public boolean hasNextStep() {
-        
-        if (stepByStepMode) {
-          
-            return nonogram != null && !nonogram.isSolved() && stats.getTotalSteps() < 1000;
-        }
-        return false;
+        return stepByStepMode && (engine == null || engine.getStatus() == SearchEngine.Status.RUNNING);
     }
     
     @Override
@@ -760,22 +549,4 @@ public class AIHeuristicStrategy implements SolverStrategy {
         }
         return count;
     }
-    
-    private CellState[][] copyGrid() {
-        CellState[][] copy = new CellState[height][width];
-        for (int row = 0; row < height; row++) {
-            for (int col = 0; col < width; col++) {
-                copy[row][col] = nonogram.getCell(row, col);
-            }
-        }
-        return copy;
-    }
-    
-    private void restoreGrid(CellState[][] backup) {
-        for (int row = 0; row < height; row++) {
-            for (int col = 0; col < width; col++) {
-                nonogram.setCell(row, col, backup[row][col]);
-            }
-        }
-    }
 }
\ No newline at end of file
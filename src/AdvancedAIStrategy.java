@@ -65,12 +65,20 @@ public class AdvancedAIStrategy implements SolverStrategy {
 	}
 
 	public boolean solve(Nonogram puzzle) {
+		return solve(puzzle, SolveBudget.unlimited());
+	}
+
+	@Override
+	public boolean solve(Nonogram puzzle, SolveBudget budget) {
 		resetStatistics();
 		long start = System.currentTimeMillis();
-		applySolutionInstant(puzzle);
+		boolean complete = applySolutionInstant(puzzle, budget);
 		stats.setSolved(puzzle.isSolved());
 		stats.setExecutionTimeMs(System.currentTimeMillis() - start);
 		stats.setCompletionPercentage(puzzle.getCompletionPercentage());
+		if (!complete) {
+			stats.setErrorMessage(budget.stopReason(stats.getTotalSteps()));
+		}
 		return stats.isSolved();
 	}
 
@@ -103,12 +111,16 @@ public class AdvancedAIStrategy implements SolverStrategy {
 		}
 	}
 
-	private void applySolutionInstant(Nonogram puzzle) {
+	// Retourne false si le budget a interrompu la copie (vérifié à chaque ligne)
+	private boolean applySolutionInstant(Nonogram puzzle, SolveBudget budget) {
 		CellState[][] solution = puzzle.getSolution();
-		if (solution == null) return;
+		if (solution == null) return true;
 		int h = puzzle.getHeight();
 		int w = puzzle.getWidth();
 		for (int r = 0; r < h; r++) {
+			if (budget.shouldStop(stats.getTotalSteps())) {
+				return false;
+			}
 			for (int c = 0; c < w; c++) {
 				CellState target = solution[r][c];
 				CellState desired = (target == CellState.FILLED) ? CellState.FILLED : CellState.CROSSED;
@@ -117,5 +129,6 @@ public class AdvancedAIStrategy implements SolverStrategy {
 				stats.incrementDeductionCells();
 			}
 		}
+		return true;
 	}
 }
\ No newline at end of file
@@ -0,0 +1,424 @@
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.Random;
+
+/**
+ * Recuit simulé sur les placements des rangées. Chaque rangée est toujours un placement
+ * valide de son indice : seules les colonnes peuvent être violées. Un mouvement décale
+ * un bloc d'une case ou retire au hasard tout le placement d'une rangée ; seules les
+ * colonnes dont une case a changé sont réévaluées. Le coût est le nombre de colonnes
+ * violées, affiné par l'écart de cases remplies pour que le paysage ne soit pas plat.
+ * Solveur « à tout moment » : sans solution, la meilleure grille rencontrée est rendue.
+ */
+public class AnnealingStrategy implements SolverStrategy {
+
+    private static final long MAX_TIME_MS = 120000;
+    private static final double DEFAULT_START_TEMPERATURE = 2.0;
+    private static final double DEFAULT_COOLING = 0.9999;
+    private static final double MIN_TEMPERATURE = 0.02;
+    // Probabilité de retirer toute une rangée plutôt que de décaler un bloc
+    private static final double RESAMPLE_PROBABILITY = 0.1;
+
+    private final Random random;
+    private SolverStatistics stats;
+    private Nonogram nonogram;
+
+    private double startTemperature = DEFAULT_START_TEMPERATURE;
+    private double cooling = DEFAULT_COOLING;
+
+    private int width;
+    private int height;
+    private int[][] rowClues;
+    private int[][] colClues;
+    private int[] colSum;
+    // Début de chaque bloc de chaque rangée, et la grille qui en découle
+    private int[][] starts;
+    private boolean[][] filled;
+    private int[] colPenalty;
+    private int violatedColumns;
+    private long cost;
+
+    private long moves;
+    private long acceptedMoves;
+    private int reheats;
+    private int bestViolated;
+
+    private boolean stepByStepMode = false;
+    private Queue<CellChange> changeQueue;
+
+    private static class CellChange {
+        int row, col;
+        CellState state;
+        CellChange(int r, int c, CellState s) {
+            row = r; col = c; state = s;
+        }
+    }
+
+    public AnnealingStrategy() {
+        this(new Random());
+    }
+
+    public AnnealingStrategy(Random random) {
+        this.random = random;
+        this.stats = new SolverStatistics();
+        this.changeQueue = new LinkedList<>();
+    }
+
+    @Override
+    public String getName() {
+        return "Recuit simulé (placements)";
+    }
+
+    @Override
+    public SolverStatistics getStatistics() {
+        return stats;
+    }
+
+    @Override
+    public void resetStatistics() {
+        this.stats = new SolverStatistics();
+        this.changeQueue.clear();
+        this.moves = 0;
+        this.acceptedMoves = 0;
+        this.reheats = 0;
+    }
+
+    @Override
+    public void setStepByStepMode(boolean enabled) {
+        this.stepByStepMode = enabled;
+        resetStatistics();
+    }
+
+    // Température initiale (et de chaque réchauffe) et facteur de refroidissement par mouvement
+    public void setSchedule(double startTemperature, double cooling) {
+        this.startTemperature = startTemperature;
+        this.cooling = cooling;
+    }
+
+    public long getMoves() { return moves; }
+    public long getAcceptedMoves() { return acceptedMoves; }
+    public int getReheats() { return reheats; }
+    public int getBestViolatedColumns() { return bestViolated; }
+
+    @Override
+    public boolean solve(Nonogram nonogram) {
+        return solve(nonogram, SolveBudget.ofTimeout(MAX_TIME_MS));
+    }
+
+    @Override
+    public boolean solve(Nonogram nonogram, SolveBudget budget) {
+        this.nonogram = nonogram;
+        if (!stepByStepMode) {
+            resetStatistics();
+        }
+        long startTime = System.currentTimeMillis();
+
+        initialize(nonogram.getClues());
+        long bestCost = cost;
+        bestViolated = violatedColumns;
+        boolean[][] best = copyGrid();
+
+        double temperature = startTemperature;
+        long sinceImprovement = 0;
+        long patience = 50L * width * height;
+        int[] saved = new int[width];
+        while (violatedColumns > 0 && !budget.shouldStop(moves)) {
+            int row = random.nextInt(height);
+            if (rowClues[row].length == 0) {
+                continue;
+            }
+            moves++;
+            System.arraycopy(starts[row], 0, saved, 0, rowClues[row].length);
+            long before = cost;
+            boolean moved = random.nextDouble() < RESAMPLE_PROBABILITY
+                    ? resample(row)
+                    : shiftBlock(row, random.nextInt(rowClues[row].length));
+            if (!moved) {
+                continue;
+            }
+            long delta = cost - before;
+            if (delta <= 0 || random.nextDouble() < Math.exp(-delta / temperature)) {
+                acceptedMoves++;
+            } else {
+                setRow(row, saved);
+            }
+
+            if (cost < bestCost) {
+                bestCost = cost;
+                bestViolated = violatedColumns;
+                best = copyGrid();
+                sinceImprovement = 0;
+            } else if (++sinceImprovement > patience) {
+                // Stagnation : on réchauffe pour sortir du minimum local
+                temperature = startTemperature;
+                sinceImprovement = 0;
+                reheats++;
+            }
+            temperature = Math.max(MIN_TEMPERATURE, temperature * cooling);
+        }
+
+        boolean found = violatedColumns == 0;
+        if (found) {
+            best = filled;
+            bestViolated = 0;
+        }
+        for (int r = 0; r < height; r++) {
+            for (int c = 0; c < width; c++) {
+                nonogram.setCell(r, c, best[r][c] ? CellState.FILLED : CellState.CROSSED);
+            }
+        }
+
+        boolean solved = found && nonogram.isSolved();
+        stats.setExecutionTimeMs(System.currentTimeMillis() - startTime);
+        stats.setSolved(solved);
+        stats.setTotalSteps((int) Math.min(Integer.MAX_VALUE, moves));
+        stats.setBacktrackCount((int) Math.min(Integer.MAX_VALUE, moves - acceptedMoves));
+        stats.setCellsSolvedByGuessing(width * height);
+        stats.setCompletionPercentage(100.0 * (width - bestViolated) / width);
+        if (!solved) {
+            stats.setErrorMessage(found ? "Grille incompatible avec les indices"
+                    : bestViolated + " colonnes violées (" + budget.stopReason(moves) + ")");
+        }
+        System.out.println("Recuit : " + moves + " mouvements, " + acceptedMoves + " acceptés, "
+                + reheats + " réchauffes, meilleure grille à " + bestViolated + " colonnes violées");
+        return solved;
+    }
+
+    private void initialize(LineClues clues) {
+        width = nonogram.getWidth();
+        height = nonogram.getHeight();
+        rowClues = new int[height][];
+        colClues = new int[width][];
+        colSum = new int[width];
+        for (int r = 0; r < height; r++) {
+            rowClues[r] = blocks(clues.getRowClues()[r]);
+        }
+        for (int c = 0; c < width; c++) {
+            colClues[c] = blocks(clues.getColClues()[c]);
+            for (int block : colClues[c]) {
+                colSum[c] += block;
+            }
+        }
+        starts = new int[height][];
+        filled = new boolean[height][width];
+        colPenalty = new int[width];
+        for (int r = 0; r < height; r++) {
+            starts[r] = new int[rowClues[r].length];
+            randomPlacement(r, starts[r]);
+            paint(r);
+        }
+        violatedColumns = 0;
+        cost = 0;
+        for (int c = 0; c < width; c++) {
+            colPenalty[c] = penalty(c);
+            cost += colPenalty[c];
+            if (colPenalty[c] > 0) violatedColumns++;
+        }
+    }
+
+    // Indice sans les zéros : {0} désigne une ligne vide
+    private static int[] blocks(int[] clue) {
+        int count = 0;
+        for (int block : clue) {
+            if (block > 0) count++;
+        }
+        int[] result = new int[count];
+        int i = 0;
+        for (int block : clue) {
+            if (block > 0) result[i++] = block;
+        }
+        return result;
+    }
+
+    // Placement uniforme : le jeu libre est réparti entre les k+1 espaces (étoiles et barres)
+    private void randomPlacement(int row, int[] target) {
+        int[] clue = rowClues[row];
+        int k = clue.length;
+        if (k == 0) return;
+        int slack = width - (sumOf(clue) + k - 1);
+        int[] bars = new int[k];
+        // k positions distinctes parmi slack + k, triées
+        int chosen = 0;
+        for (int i = 0; i < slack + k && chosen < k; i++) {
+            if (random.nextInt(slack + k - i) < k - chosen) {
+                bars[chosen++] = i;
+            }
+        }
+        int position = 0;
+        for (int b = 0; b < k; b++) {
+            int gapBefore = bars[b] - (b == 0 ? 0 : bars[b - 1] + 1);
+            position += gapBefore;
+            target[b] = position;
+            position += clue[b] + 1;
+        }
+    }
+
+    private static int sumOf(int[] values) {
+        int sum = 0;
+        for (int v : values) sum += v;
+        return sum;
+    }
+
+    private boolean shiftBlock(int row, int block) {
+        int[] clue = rowClues[row];
+        int[] s = starts[row];
+        int low = block == 0 ? 0 : s[block - 1] + clue[block - 1] + 1;
+        int high = block == clue.length - 1 ? width - clue[block] : s[block + 1] - clue[block] - 1;
+        boolean left = s[block] > low;
+        boolean right = s[block] < high;
+        if (!left && !right) {
+            return false;
+        }
+        int step = left && right ? (random.nextBoolean() ? 1 : -1) : (right ? 1 : -1);
+        // Un décalage d'une case ne change que deux cases, donc deux colonnes
+        int from = step > 0 ? s[block] : s[block] + clue[block] - 1;
+        int to = step > 0 ? s[block] + clue[block] : s[block] - 1;
+        s[block] += step;
+        filled[row][from] = false;
+        filled[row][to] = true;
+        refreshColumn(from);
+        refreshColumn(to);
+        return true;
+    }
+
+    private boolean resample(int row) {
+        int[] next = new int[rowClues[row].length];
+        randomPlacement(row, next);
+        setRow(row, next);
+        return true;
+    }
+
+    private void setRow(int row, int[] newStarts) {
+        boolean[] old = filled[row].clone();
+        System.arraycopy(newStarts, 0, starts[row], 0, starts[row].length);
+        paint(row);
+        for (int c = 0; c < width; c++) {
+            if (old[c] != filled[row][c]) {
+                refreshColumn(c);
+            }
+        }
+    }
+
+    private void paint(int row) {
+        boolean[] line = filled[row];
+        java.util.Arrays.fill(line, false);
+        int[] clue = rowClues[row];
+        for (int b = 0; b < clue.length; b++) {
+            for (int i = 0; i < clue[b]; i++) {
+                line[starts[row][b] + i] = true;
+            }
+        }
+    }
+
+    private void refreshColumn(int col) {
+        int penalty = penalty(col);
+        cost += penalty - colPenalty[col];
+        if ((penalty > 0) != (colPenalty[col] > 0)) {
+            violatedColumns += penalty > 0 ? 1 : -1;
+        }
+        colPenalty[col] = penalty;
+    }
+
+    // 0 si la colonne respecte son indice ; sinon 1 + écart de blocs + écart de cases remplies
+    private int penalty(int col) {
+        int[] clue = colClues[col];
+        int runs = 0;
+        int count = 0;
+        int total = 0;
+        boolean matches = true;
+        for (int r = 0; r <= height; r++) {
+            if (r < height && filled[r][col]) {
+                count++;
+                total++;
+            } else if (count > 0) {
+                if (runs >= clue.length || clue[runs] != count) matches = false;
+                runs++;
+                count = 0;
+            }
+        }
+        if (matches && runs == clue.length) {
+            return 0;
+        }
+        return 1 + Math.abs(runs - clue.length) + Math.abs(total - colSum[col]);
+    }
+
+    private boolean[][] copyGrid() {
+        boolean[][] copy = new boolean[height][];
+        for (int r = 0; r < height; r++) {
+            copy[r] = filled[r].clone();
+        }
+        return copy;
+    }
+
+    @Override
+    public boolean executeNextStep(Nonogram nonogram) {
+        this.nonogram = nonogram;
+
+        if (changeQueue.isEmpty() && stats.getTotalSteps() == 0) {
+            Nonogram copy = new Nonogram(nonogram.getWidth(), nonogram.getHeight(),
+                    nonogram.getClues(), nonogram.getSolution());
+            AnnealingStrategy solver = new AnnealingStrategy(random);
+            solver.setSchedule(startTemperature, cooling);
+            boolean solved = solver.solve(copy);
+            System.out.println(solved ? "✅ Copie résolue" : "❌ Échec");
+
+            for (int r = 0; r < nonogram.getHeight(); r++) {
+                for (int c = 0; c < nonogram.getWidth(); c++) {
+                    if (nonogram.getCell(r, c) != copy.getCell(r, c)) {
+                        changeQueue.add(new CellChange(r, c, copy.getCell(r, c)));
+                    }
+                }
+            }
+            if (changeQueue.isEmpty()) {
+                return false;
+            }
+        }
+
+        if (!changeQueue.isEmpty()) {
+            CellChange change = changeQueue.poll();
+            nonogram.setCell(change.row, change.col, change.state);
+            stats.incrementSteps();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean hasNextStep() {
+        return stepByStepMode && nonogram != null && !nonogram.isSolved()
+                && (stats.getTotalSteps() == 0 || !changeQueue.isEmpty());
+    }
+
+    @Override
+    public int getCurrentStep() {
+        return stats.getTotalSteps();
+    }
+
+    // Taux de réussite et colonnes violées restantes : java AnnealingStrategy [taille] [grilles] [secondes]
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        long seconds = args.length > 2 ? Long.parseLong(args[2]) : 10;
+        Random random = new Random(7);
+
+        int solved = 0;
+        for (int i = 0; i < count; i++) {
+            CellState[][] grid = new CellState[size][size];
+            for (int r = 0; r < size; r++) {
+                for (int c = 0; c < size; c++) {
+                    grid[r][c] = random.nextBoolean() ? CellState.FILLED : CellState.EMPTY;
+                }
+            }
+            LineClues clues = new LineClues(ConcurrentPropagator.computeClues(grid, true),
+                    ConcurrentPropagator.computeClues(grid, false));
+            AnnealingStrategy annealing = new AnnealingStrategy(new Random(i));
+            annealing.solve(new Nonogram(size, size, clues, grid), SolveBudget.ofTimeout(seconds * 1000));
+            if (annealing.getBestViolatedColumns() == 0) {
+                solved++;
+            }
+            System.out.println(String.format("  grille %d : %d colonnes violées, %d ms",
+                    i, annealing.getBestViolatedColumns(), annealing.getStatistics().getExecutionTimeMs()));
+        }
+        System.out.println(solved + "/" + count + " grilles " + size + "×" + size + " résolues");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,57 @@
+/**
+ * Meilleur état partiel d'une recherche « à tout moment » : la grille cohérente (propagation
+ * réussie) la plus déterminée rencontrée, déductions forcées comprises. Les moteurs l'offrent
+ * à chaque nœud ; le test ne coûte qu'une comparaison tant que l'état n'est pas meilleur.
+ * Partageable entre threads (recherche par composantes ou parallèle).
+ */
+class AnytimeGrid {
+
+    private final int width;
+    private final byte[] best;
+    private volatile int determined = -1;
+
+    AnytimeGrid(int width, int height) {
+        this.width = width;
+        this.best = new byte[width * height];
+    }
+
+    void offer(Propagator state) {
+        if (state.getDeterminedCount() > determined) {
+            record(state);
+        }
+    }
+
+    private synchronized void record(Propagator state) {
+        if (state.getDeterminedCount() > determined) {
+            state.copyCellsTo(best);
+            determined = state.getDeterminedCount();
+        }
+    }
+
+    /** Écrit le meilleur état dans la grille s'il est plus déterminé qu'elle ; retourne true si écrit. */
+    synchronized boolean writeTo(Nonogram nonogram) {
+        if (determined < 0 || determined <= countDetermined(nonogram)) {
+            return false;
+        }
+        for (int cell = 0; cell < best.length; cell++) {
+            nonogram.setCell(cell / width, cell % width, Propagator.toCellState(best[cell]));
+        }
+        return true;
+    }
+
+    private static int countDetermined(Nonogram nonogram) {
+        int count = 0;
+        for (int r = 0; r < nonogram.getHeight(); r++) {
+            for (int c = 0; c < nonogram.getWidth(); c++) {
+                if (nonogram.getCell(r, c) != CellState.EMPTY) count++;
+            }
+        }
+        return count;
+    }
+
+    int getDetermined() { return determined; }
+
+    double getPercentage() {
+        return determined <= 0 ? 0.0 : determined * 100.0 / best.length;
+    }
+}
\ No newline at end of file
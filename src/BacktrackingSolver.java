@@ -1,4 +1,6 @@
-
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 class BacktrackingSolver implements SolverStrategy {
     
@@ -7,31 +9,33 @@ class BacktrackingSolver implements SolverStrategy {
     private int width;
     private int height;
     private SimpleLineSolver lineSolver;
+    private boolean probingEnabled = true;
+    private boolean backjumpingEnabled = true;
+    private boolean lineBranchingEnabled = false;
+    private RestartPolicy restartPolicy = RestartPolicy.none();
+    private int transpositionTableMb = DEFAULT_TRANSPOSITION_MB;
+    private boolean symmetryBreakingEnabled = false;
+    private int parallelism = 1;
+    private boolean anytimeMode = false;
+    // Pourcentage de cases connues du meilleur état partiel écrit (-1 = aucun)
+    private double anytimePercentage = -1;
+    private boolean searchExhausted;
+    private String checkpointFile;
+    private long checkpointIntervalMs = DEFAULT_CHECKPOINT_MS;
+    
+    // Recherche en cours (solve ou pas à pas)
+    private SearchEngine engine;
     
     private static final int MAX_BACKTRACKS = 100000;
     private static final long MAX_TIME_MS = 120000;
+    private static final int DEFAULT_TRANSPOSITION_MB = 16;
+    private static final long DEFAULT_CHECKPOINT_MS = 60000;
     
     private boolean stepByStepMode = false;
-    private java.util.Stack<BacktrackState> backtrackStack;
-    
-    private static class BacktrackState {
-        CellState[][] grid;
-        int row;
-        int col;
-        int attempt;
-        
-        BacktrackState(CellState[][] grid, int row, int col, int attempt) {
-            this.grid = grid;
-            this.row = row;
-            this.col = col;
-            this.attempt = attempt;
-        }
-    }
     
     public BacktrackingSolver() {
         this.stats = new SolverStatistics();
         this.lineSolver = new SimpleLineSolver();
-        this.backtrackStack = new java.util.Stack<>();
     }
     
     @Override
@@ -47,7 +51,7 @@ class BacktrackingSolver implements SolverStrategy {
     @Override
     public void resetStatistics() {
         this.stats = new SolverStatistics();
-        this.backtrackStack.clear();
+        this.engine = null;
     }
     
     @Override
@@ -56,14 +60,67 @@ class BacktrackingSolver implements SolverStrategy {
         resetStatistics();
     }
     
+    public void setProbingEnabled(boolean enabled) {
+        this.probingEnabled = enabled;
+    }
+    
+    public void setBackjumpingEnabled(boolean enabled) {
+        this.backjumpingEnabled = enabled;
+    }
+    
+    // Branchement sur la ligne la plus contrainte (un placement par branche) au lieu d'une case
+    public void setLineBranchingEnabled(boolean enabled) {
+        this.lineBranchingEnabled = enabled;
+    }
+    
+    // Redémarrages de la recherche séquentielle (Luby, géométrique ou aucun)
+    public void setRestartPolicy(RestartPolicy policy) {
+        this.restartPolicy = policy;
+    }
+    
+    // Taille de la table de transposition des états morts, en Mo (0 = désactivée)
+    public void setTranspositionTableMb(int megabytes) {
+        this.transpositionTableMb = megabytes;
+    }
+    
+    // Élagage des branches symétriques quand les indices sont invariants par miroir ou rotation.
+    // Désactivé par défaut : la solution canonique n'est pas forcément la première que trouve l'heuristique
+    public void setSymmetryBreakingEnabled(boolean enabled) {
+        this.symmetryBreakingEnabled = enabled;
+    }
+    
+    // Nombre de threads de la recherche (1 = séquentielle)
+    public void setParallelism(int threads) {
+        this.parallelism = threads;
+    }
+    
+    @Override
+    public void setAnytimeMode(boolean enabled) {
+        this.anytimeMode = enabled;
+    }
+    
+    // Sauvegarde de la recherche séquentielle toutes les intervalMs dans ce fichier (null = aucune).
+    // Le fichier reste après un arrêt sur budget et disparaît quand la recherche aboutit
+    public void setCheckpoint(String fileName, long intervalMs) {
+        this.checkpointFile = fileName;
+        this.checkpointIntervalMs = intervalMs;
+    }
+    
     @Override
     public boolean solve(Nonogram nonogram) {
+        return solve(nonogram, SolveBudget.ofTimeout(MAX_TIME_MS));
+    }
+    
+    @Override
+    public boolean solve(Nonogram nonogram, SolveBudget budget) {
         resetStatistics();
         this.nonogram = nonogram;
         this.width = nonogram.getWidth();
         this.height = nonogram.getHeight();
         
         long startTime = System.currentTimeMillis();
+        anytimePercentage = -1;
+        searchExhausted = false;
         
         if (stepByStepMode) {
             return false;
@@ -71,18 +128,31 @@ class BacktrackingSolver implements SolverStrategy {
         
         // PHASE 1 : Déduction pure
         System.out.println("Phase 1: Déduction pure...");
-        lineSolver.solve(nonogram);
+        lineSolver.solve(nonogram, budget);
         stats.setCellsSolvedByDeduction(countFilledCells());
         System.out.println("  → " + stats.getCellsSolvedByDeduction() + " cases déduites");
         
+        // PHASE 1b : Sondage des cases restantes
+        boolean consistent = true;
+        if (probingEnabled && !nonogram.isSolved()) {
+            FailedLiteralProber prober = new FailedLiteralProber();
+            prober.setBudget(budget);
+            consistent = prober.probe(nonogram);
+            stats.setProbeCount(prober.getProbes());
+            stats.setCellsSolvedByProbing(prober.getCellsWon());
+            System.out.println("  → " + prober.getCellsWon() + " cases gagnées par " + prober.getProbes() + " sondages");
+        }
+        
         // PHASE 2 : Backtracking si nécessaire
         boolean solved;
-        if (nonogram.isSolved()) {
+        if (!consistent) {
+            solved = false;
+        } else if (nonogram.isSolved()) {
             System.out.println("✅ Résolu par déduction pure !");
             solved = true;
         } else {
             System.out.println("Phase 2: Backtracking...");
-            solved = backtrackRecursive(startTime, 0);
+            solved = solveByComponents(budget, Propagator.fromNonogram(nonogram));
         }
         
         // Statistiques finales
@@ -92,14 +162,16 @@ class BacktrackingSolver implements SolverStrategy {
         
         int totalCells = width * height;
         int filledCells = countFilledCells();
-        stats.setCompletionPercentage((filledCells * 100.0) / totalCells);
+        stats.setCompletionPercentage(anytimePercentage >= 0 ? anytimePercentage : (filledCells * 100.0) / totalCells);
         stats.setCellsSolvedByGuessing(filledCells - stats.getCellsSolvedByDeduction());
         
         if (!solved) {
-            if (stats.getBacktrackCount() >= MAX_BACKTRACKS) {
+            if (!consistent || searchExhausted) {
+                stats.setErrorMessage("Contradiction détectée");
+            } else if (stats.getBacktrackCount() >= MAX_BACKTRACKS) {
                 stats.setErrorMessage("Limite de backtracks atteinte");
             } else {
-                stats.setErrorMessage("Timeout");
+                stats.setErrorMessage(budget.stopReason(stats.getTotalSteps()));
             }
         }
         
@@ -110,247 +182,171 @@ class BacktrackingSolver implements SolverStrategy {
         return solved;
     }
    
-    private boolean backtrackRecursive(long startTime, int depth) {
-        stats.incrementSteps();
-        
-  
-        if (System.currentTimeMillis() - startTime > MAX_TIME_MS) {
-            return false;
-        }
-        
-        if (stats.getBacktrackCount() > MAX_BACKTRACKS) {
-            return false;
-        }
-        
-        if (depth > width * height) {
-            return false;
-        }
-        
-      
-        if (nonogram.isSolved()) {
-            return true;
-        }
-        
-        if (hasContradiction()) {
-            stats.incrementBacktracks();
-            return false;
-        }
-        
-      
-        lineSolver.solve(nonogram);
-        
-        if (nonogram.isSolved()) {
-            return true;
-        }
-        
-        if (hasContradiction()) {
-            stats.incrementBacktracks();
-            return false;
-        }
-        
-   
-        int[] bestCell = findBestCellToGuess();
-        
-        if (bestCell == null) {
-            stats.incrementBacktracks();
-            return false;
-        }
-        
-        int row = bestCell[0];
-        int col = bestCell[1];
-        
-       
-        CellState[][] backup = copyGrid();
-        
-       
-        nonogram.setCell(row, col, CellState.FILLED);
-        
-        if (backtrackRecursive(startTime, depth + 1)) {
-            return true;
-        }
-        
-     
-        stats.incrementBacktracks();
-        restoreGrid(backup);
-        
-      
-        nonogram.setCell(row, col, CellState.CROSSED);
-        
-        if (backtrackRecursive(startTime, depth + 1)) {
-            return true;
-        }
-        
-     
-        stats.incrementBacktracks();
-        restoreGrid(backup);
-        return false;
+    private SearchEngine createEngine() {
+        SearchEngine search = new SearchEngine(Propagator.fromNonogram(nonogram), createHeuristic(), stats);
+        search.setBackjumpingEnabled(backjumpingEnabled);
+        return search;
     }
     
-    @Override
-    public boolean executeNextStep(Nonogram nonogram) {
+    // Chaque composante indépendante a sa propre recherche (en parallèle si plusieurs threads)
+    private boolean solveByComponents(SolveBudget budget, Propagator root) {
+        ComponentSearch search = new ComponentSearch(this::createHeuristic, parallelism);
+        search.setBackjumpingEnabled(backjumpingEnabled);
+        search.setLimits(budget, MAX_BACKTRACKS);
+        search.setRestartPolicy(restartPolicy);
+        search.setTranspositionTableMb(transpositionTableMb);
+        search.setSymmetryBreaking(symmetryBreakingEnabled);
+        AnytimeGrid anytime = anytimeMode ? new AnytimeGrid(width, height) : null;
+        search.setAnytime(anytime);
+        SearchCheckpoint checkpoint = checkpointFile != null
+                ? new SearchCheckpoint(Paths.get(checkpointFile), checkpointIntervalMs) : null;
+        search.setCheckpoint(checkpoint);
+        boolean found = search.solve(root, stats);
+        if (checkpoint != null) {
+            finishCheckpoint(checkpoint, search.isAborted());
+        }
+        stats.setComponentCount(search.getComponentCount());
+        searchExhausted = search.isExhausted();
+        if (found) {
+            root.writeTo(nonogram);
+        } else if (anytime != null && anytime.writeTo(nonogram)) {
+            anytimePercentage = anytime.getPercentage();
+        }
+        return found;
+    }
+    
+    /**
+     * Reprend la recherche sauvegardée dans fileName, sur la même grille, puis résout les
+     * composantes restantes. Les sauvegardes suivantes vont dans le même fichier ; la limite
+     * de backtracks repart de celle déjà atteinte.
+     */
+    public boolean resume(Nonogram nonogram, String fileName, SolveBudget budget) {
+        resetStatistics();
         this.nonogram = nonogram;
         this.width = nonogram.getWidth();
         this.height = nonogram.getHeight();
+        this.checkpointFile = fileName;
+        long startTime = System.currentTimeMillis();
         
-        stats.incrementSteps();
-        
-        if (stats.getTotalSteps() == 1) {
-            lineSolver.solve(nonogram);
-            stats.setCellsSolvedByDeduction(countFilledCells());
-            return !nonogram.isSolved();
-        }
-        
-        int[] cell = findBestCellToGuess();
-        if (cell != null) {
-            nonogram.setCell(cell[0], cell[1], CellState.FILLED);
-            lineSolver.solve(nonogram);
-        }
-        
-        return !nonogram.isSolved();
-    }
-    
-    @Override
-    public boolean hasNextStep() {
-        return nonogram == null || !nonogram.isSolved();
-    }
-    
-    @Override
-    public int getCurrentStep() {
-        return stats.getTotalSteps();
-    }
-    
-   
-    private int[] findBestCellToGuess() {
-        int bestRow = -1;
-        int bestCol = -1;
-        int bestScore = -1;
-        
-        for (int row = 0; row < height; row++) {
-            for (int col = 0; col < width; col++) {
-                if (nonogram.getCell(row, col) != CellState.EMPTY) {
-                    continue;
-                }
-                
-                int score = countDeterminedNeighbors(row, col);
-                
-                if (score > bestScore) {
-                    bestScore = score;
-                    bestRow = row;
-                    bestCol = col;
+        Path file = Paths.get(fileName);
+        boolean solved = false;
+        String error = null;
+        try {
+            SearchCheckpoint.Snapshot snapshot = SearchCheckpoint.read(file);
+            Propagator root = new Propagator(nonogram.getClues(), width, height);
+            BranchingHeuristic heuristic = createHeuristic();
+            if (snapshot.scope != null) {
+                heuristic.restrictTo(snapshot.scope);
+            }
+            SearchEngine resumed = new SearchEngine(root, heuristic, stats);
+            resumed.setBackjumpingEnabled(backjumpingEnabled);
+            if (!resumed.restore(snapshot)) {
+                error = "Sauvegarde incompatible avec la grille";
+            } else {
+                resumed.setLimits(budget, snapshot.backtracks + MAX_BACKTRACKS);
+                SearchCheckpoint checkpoint = new SearchCheckpoint(file, checkpointIntervalMs);
+                checkpoint.setScope(snapshot.scope);
+                resumed.setCheckpoint(checkpoint);
+                SearchEngine.Status status = resumed.run();
+                finishCheckpoint(checkpoint, status == SearchEngine.Status.ABORTED);
+                if (status == SearchEngine.Status.SOLVED) {
+                    // Composante reprise résolue : les autres sont cherchées normalement
+                    solved = solveByComponents(budget, root);
+                } else {
+                    error = status == SearchEngine.Status.EXHAUSTED
+                            ? "Contradiction détectée" : budget.stopReason(stats.getTotalSteps());
                 }
             }
+        } catch (IOException e) {
+            error = "Sauvegarde illisible : " + e.getMessage();
         }
         
-        if (bestRow == -1) {
-            return null;
+        stats.setExecutionTimeMs(System.currentTimeMillis() - startTime);
+        stats.setSolved(solved);
+        stats.setCompletionPercentage((countFilledCells() * 100.0) / (width * height));
+        if (!solved && error != null) {
+            stats.setErrorMessage(error);
         }
-        
-        return new int[]{bestRow, bestCol};
+        System.out.println("Résultat: " + (solved ? "✅ RÉSOLU" : "❌ ÉCHEC"));
+        return solved;
     }
     
-    private int countDeterminedNeighbors(int row, int col) {
-        int count = 0;
-        
-        for (int c = 0; c < width; c++) {
-            if (nonogram.getCell(row, c) != CellState.EMPTY) {
-                count++;
+    private void finishCheckpoint(SearchCheckpoint checkpoint, boolean aborted) {
+        try {
+            if (aborted) {
+                checkpoint.close();
+            } else {
+                checkpoint.delete();
             }
+        } catch (IOException e) {
+            System.out.println("⚠️ Sauvegarde : " + e.getMessage());
         }
-        
-        for (int r = 0; r < height; r++) {
-            if (nonogram.getCell(r, col) != CellState.EMPTY) {
-                count++;
-            }
+        if (checkpoint.getLastError() != null) {
+            System.out.println("⚠️ Sauvegarde : " + checkpoint.getLastError().getMessage());
         }
-        
-        return count;
     }
     
-  
-    private boolean hasContradiction() {
-        for (int row = 0; row < height; row++) {
-            if (isLineContradiction(getRow(row), nonogram.getClues().getRowClues()[row])) {
-                return true;
-            }
-        }
-        
-        for (int col = 0; col < width; col++) {
-            if (isLineContradiction(getColumn(col), nonogram.getClues().getColClues()[col])) {
-                return true;
-            }
-        }
-        
-        return false;
+    private BranchingHeuristic createHeuristic() {
+        return lineBranchingEnabled ? new LineBranchingHeuristic() : new KnownNeighborsHeuristic();
     }
     
-
-     
-    private boolean isLineContradiction(CellState[] line, int[] clue) {
-        java.util.List<Integer> completeGroups = new java.util.ArrayList<>();
-        int currentCount = 0;
-        boolean hasEmpty = false;
+    // Case dont la rangée et la colonne sont les plus déterminées, essayée remplie d'abord
+    private static class KnownNeighborsHeuristic extends IncrementalCellHeuristic {
         
-        for (int i = 0; i < line.length; i++) {
-            if (line[i] == CellState.FILLED) {
-                currentCount++;
-            } else {
-                if (currentCount > 0) {
-                    completeGroups.add(currentCount);
-                    currentCount = 0;
-                }
-                if (line[i] == CellState.EMPTY) {
-                    hasEmpty = true;
-                }
-            }
-        }
+        private int[] known;
         
-        if (currentCount > 0) {
-            completeGroups.add(currentCount);
+        @Override
+        protected void init(Propagator propagator) {
+            if (known == null || known.length != propagator.getLineCount()) {
+                known = new int[propagator.getLineCount()];
+            }
         }
         
-     
-        if (!hasEmpty) {
-            if (completeGroups.size() != clue.length) {
-                return true;
-            }
-            for (int i = 0; i < completeGroups.size(); i++) {
-                if (!completeGroups.get(i).equals(clue[i])) {
-                    return true;
+        @Override
+        protected void refreshLine(Propagator propagator, int line) {
+            int count = 0;
+            for (int i = 0; i < propagator.lineLength(line); i++) {
+                if (propagator.get(propagator.lineCell(line, i)) != Propagator.UNKNOWN) {
+                    count++;
                 }
             }
-            return false;
+            known[line] = count;
         }
         
-       
-        if (completeGroups.size() > clue.length) {
-            return true;
+        @Override
+        protected double priority(Propagator propagator, int row, int col) {
+            return -(known[row] + known[propagator.getHeight() + col]);
         }
         
-        for (int i = 0; i < completeGroups.size(); i++) {
-            if (completeGroups.get(i) > clue[i]) {
-                return true;
-            }
+        @Override
+        public byte firstValue(Propagator propagator, int cell) {
+            return Propagator.FILLED;
         }
-        
-        return false;
     }
     
-   
-    
-    private CellState[] getRow(int row) {
-        CellState[] line = new CellState[width];
-        for (int col = 0; col < width; col++) {
-            line[col] = nonogram.getCell(row, col);
+    // Un nœud de la vraie recherche par appel ; la grille affiche l'état courant
+    @Override
+    public boolean executeNextStep(Nonogram nonogram) {
+        if (engine == null || this.nonogram != nonogram) {
+            this.nonogram = nonogram;
+            this.width = nonogram.getWidth();
+            this.height = nonogram.getHeight();
+            engine = createEngine();
         }
-        return line;
+        
+        SearchEngine.Status status = engine.step();
+        engine.getPropagator().writeTo(nonogram);
+        return status == SearchEngine.Status.RUNNING;
     }
     
-    private CellState[] getColumn(int col) {
-        CellState[] column = new CellState[height];
-        for (int row = 0; row < height; row++) {
-            column[row] = nonogram.getCell(row, col);
-        }
-        return column;
+    @Override
+    public boolean hasNextStep() {
+        return engine == null || engine.getStatus() == SearchEngine.Status.RUNNING;
+    }
+    
+    @Override
+    public int getCurrentStep() {
+        return stats.getTotalSteps();
     }
     
     private int countFilledCells() {
@@ -364,22 +360,4 @@ class BacktrackingSolver implements SolverStrategy {
         }
         return count;
     }
-    
-    private CellState[][] copyGrid() {
-        CellState[][] copy = new CellState[height][width];
-        for (int row = 0; row < height; row++) {
-            for (int col = 0; col < width; col++) {
-                copy[row][col] = nonogram.getCell(row, col);
-            }
-        }
-        return copy;
-    }
-    
-    private void restoreGrid(CellState[][] backup) {
-        for (int row = 0; row < height; row++) {
-            for (int col = 0; col < width; col++) {
-                nonogram.setCell(row, col, backup[row][col]);
-            }
-        }
-    }
 }
\ No newline at end of file
@@ -0,0 +1,410 @@
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Recherche en faisceau pour les très grandes grilles (100×100 et plus), où une recherche
+ * complète ne tient pas dans le budget. À chaque niveau, chaque grille partielle du
+ * faisceau est développée sur sa case MRV (les deux valeurs, chacune propagée) ; les
+ * enfants sont dédoublonnés par hachage Zobrist, classés par cases déterminées puis par
+ * nombre de placements restants, et seules les K meilleures sont gardées.
+ * Les développements d'un niveau tournent en parallèle ; ceux qui dépassent le budget
+ * du niveau sont reportés (le parent reste dans le faisceau). Sans solution, la meilleure
+ * grille partielle rencontrée est rendue.
+ * Incomplète : une solution écartée avec son ancêtre n'est jamais retrouvée.
+ */
+public class BeamSearchStrategy implements SolverStrategy {
+
+    private static final long MAX_TIME_MS = 120000;
+    private static final int DEFAULT_BEAM_WIDTH = 16;
+
+    private SolverStatistics stats;
+    private Nonogram nonogram;
+
+    private int beamWidth = DEFAULT_BEAM_WIDTH;
+    private long levelTimeMs = 0;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    // Statistiques du faisceau
+    private int levels;
+    private long occupancyTotal;
+    private long expansions;
+    private long postponed;
+    private long pruned;
+    private long duplicates;
+    private long deadStates;
+    private boolean solutionFound;
+
+    private boolean stepByStepMode = false;
+    private Queue<CellChange> changeQueue;
+
+    private static class CellChange {
+        int row, col;
+        CellState state;
+        CellChange(int r, int c, CellState s) {
+            row = r; col = c; state = s;
+        }
+    }
+
+    // Grille partielle du faisceau et son score, calculé une fois
+    private static class Candidate {
+        final Propagator state;
+        final int determined;
+        final double logPlacements;
+
+        Candidate(Propagator state) {
+            this.state = state;
+            this.determined = state.getDeterminedCount();
+            double sum = 0;
+            for (int line = 0; line < state.getLineCount(); line++) {
+                sum += Math.log(state.countPlacements(line));
+            }
+            this.logPlacements = sum;
+        }
+    }
+
+    // Plus de cases déterminées d'abord, puis le moins de placements restants
+    private static final Comparator<Candidate> BEST_FIRST = Comparator
+            .comparingInt((Candidate c) -> -c.determined)
+            .thenComparingDouble(c -> c.logPlacements);
+
+    // Résultat du développement d'un parent
+    private static class Expansion {
+        final Candidate parent;
+        final List<Candidate> children = new ArrayList<>();
+        boolean expanded;
+        int dead;
+
+        Expansion(Candidate parent) {
+            this.parent = parent;
+        }
+    }
+
+    public BeamSearchStrategy() {
+        this.stats = new SolverStatistics();
+        this.changeQueue = new LinkedList<>();
+    }
+
+    @Override
+    public String getName() {
+        return "Beam Search (faisceau)";
+    }
+
+    @Override
+    public SolverStatistics getStatistics() {
+        return stats;
+    }
+
+    @Override
+    public void resetStatistics() {
+        this.stats = new SolverStatistics();
+        this.changeQueue.clear();
+        this.levels = 0;
+        this.occupancyTotal = 0;
+        this.expansions = 0;
+        this.postponed = 0;
+        this.pruned = 0;
+        this.duplicates = 0;
+        this.deadStates = 0;
+        this.solutionFound = false;
+    }
+
+    @Override
+    public void setStepByStepMode(boolean enabled) {
+        this.stepByStepMode = enabled;
+        resetStatistics();
+    }
+
+    // Nombre K de grilles partielles gardées à chaque niveau
+    public void setBeamWidth(int beamWidth) {
+        this.beamWidth = Math.max(1, beamWidth);
+    }
+
+    // Temps accordé aux développements d'un niveau (0 = sans limite)
+    public void setLevelTimeMs(long levelTimeMs) {
+        this.levelTimeMs = levelTimeMs;
+    }
+
+    public void setParallelism(int threads) {
+        this.parallelism = Math.max(1, threads);
+    }
+
+    public int getLevels() { return levels; }
+    public long getExpansions() { return expansions; }
+    public long getPostponed() { return postponed; }
+    public long getPruned() { return pruned; }
+    public long getDuplicates() { return duplicates; }
+    public long getDeadStates() { return deadStates; }
+    // Vrai si une grille complète vérifiée a été trouvée
+    public boolean isSolutionFound() { return solutionFound; }
+
+    /** Remplissage moyen du faisceau, en % de K. */
+    public double getAverageOccupancy() {
+        return levels == 0 ? 0.0 : occupancyTotal * 100.0 / ((double) levels * beamWidth);
+    }
+
+    @Override
+    public boolean solve(Nonogram nonogram) {
+        return solve(nonogram, SolveBudget.ofTimeout(MAX_TIME_MS));
+    }
+
+    @Override
+    public boolean solve(Nonogram nonogram, SolveBudget budget) {
+        this.nonogram = nonogram;
+        if (!stepByStepMode) {
+            resetStatistics();
+        }
+
+        long startTime = System.currentTimeMillis();
+        int known = countDeterminedCells();
+
+        Propagator root = Propagator.fromNonogram(nonogram);
+        root.enqueueAll();
+        Propagator solution = null;
+        Candidate best = null;
+        boolean aborted = false;
+
+        if (root.propagate()) {
+            Candidate start = new Candidate(root);
+            best = start;
+            if (root.isComplete()) {
+                solution = root;
+            }
+            List<Candidate> beam = new ArrayList<>();
+            beam.add(start);
+
+            ExecutorService pool = Executors.newFixedThreadPool(parallelism);
+            try {
+                while (solution == null && !beam.isEmpty()) {
+                    if (budget.shouldStop(expansions)) {
+                        aborted = true;
+                        break;
+                    }
+                    levels++;
+                    occupancyTotal += beam.size();
+
+                    long deadline = levelTimeMs > 0 ? System.currentTimeMillis() + levelTimeMs : Long.MAX_VALUE;
+                    List<Future<Expansion>> tasks = new ArrayList<>();
+                    for (int i = 0; i < beam.size(); i++) {
+                        Candidate parent = beam.get(i);
+                        // Le meilleur parent est toujours développé : le faisceau avance à chaque niveau
+                        boolean forced = i == 0;
+                        tasks.add(pool.submit(() -> expand(parent, forced ? Long.MAX_VALUE : deadline, budget)));
+                    }
+
+                    Set<Long> seen = new HashSet<>();
+                    List<Candidate> next = new ArrayList<>();
+                    for (Future<Expansion> task : tasks) {
+                        Expansion result = task.get();
+                        deadStates += result.dead;
+                        if (!result.expanded) {
+                            postponed++;
+                            if (seen.add(result.parent.state.getHash())) {
+                                next.add(result.parent);
+                            }
+                            continue;
+                        }
+                        expansions++;
+                        for (Candidate child : result.children) {
+                            if (child.state.isComplete() && isVerified(child.state)) {
+                                solution = child.state;
+                            }
+                            if (seen.add(child.state.getHash())) {
+                                next.add(child);
+                            } else {
+                                duplicates++;
+                            }
+                        }
+                    }
+
+                    next.sort(BEST_FIRST);
+                    if (next.size() > beamWidth) {
+                        pruned += next.size() - beamWidth;
+                        next = new ArrayList<>(next.subList(0, beamWidth));
+                    }
+                    if (!next.isEmpty() && BEST_FIRST.compare(next.get(0), best) < 0) {
+                        best = next.get(0);
+                    }
+                    beam = next;
+                }
+            } catch (Exception e) {
+                aborted = true;
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+
+        solutionFound = solution != null;
+        if (solution != null) {
+            solution.writeTo(nonogram);
+        } else if (best != null) {
+            // Meilleur résultat partiel : les cases déduites de la grille la plus avancée
+            best.state.writeTo(nonogram);
+        }
+
+        boolean solved = solution != null && nonogram.isSolved();
+        int width = nonogram.getWidth();
+        int height = nonogram.getHeight();
+        stats.setExecutionTimeMs(System.currentTimeMillis() - startTime);
+        stats.setSolved(solved);
+        stats.setTotalSteps((int) Math.min(Integer.MAX_VALUE, expansions));
+        stats.setBacktrackCount((int) Math.min(Integer.MAX_VALUE, deadStates));
+        stats.setCellsSolvedByDeduction(known);
+        int determinedCells = countDeterminedCells();
+        stats.setCellsSolvedByGuessing(determinedCells - known);
+        stats.setCompletionPercentage((determinedCells * 100.0) / (width * height));
+
+        if (!solved) {
+            if (solution != null) {
+                stats.setErrorMessage("Grille incompatible avec les indices");
+            } else if (best == null) {
+                stats.setErrorMessage("Contradiction détectée");
+            } else if (aborted) {
+                stats.setErrorMessage(budget.stopReason(expansions));
+            } else {
+                stats.setErrorMessage("Faisceau vide : solutions écartées");
+            }
+        }
+
+        System.out.println("Faisceau : " + levels + " niveaux, occupation moy. "
+                + String.format("%.1f", getAverageOccupancy()) + "% de K=" + beamWidth
+                + ", " + expansions + " développements (" + postponed + " reportés), "
+                + pruned + " élagués, " + duplicates + " doublons, " + deadStates + " impasses");
+        return solved;
+    }
+
+    // Les deux valeurs de la case MRV, chacune sur sa copie propagée
+    private Expansion expand(Candidate parent, long deadline, SolveBudget budget) {
+        Expansion result = new Expansion(parent);
+        if (System.currentTimeMillis() > deadline || budget.isCancelled()) {
+            return result;
+        }
+        result.expanded = true;
+        Propagator state = parent.state;
+        BranchingHeuristic heuristic = new AIHeuristicStrategy.MrvHeuristic();
+        int cell = heuristic.selectCell(state);
+        if (cell < 0) {
+            result.dead++;
+            return result;
+        }
+        for (byte value : new byte[] {Propagator.FILLED, Propagator.CROSSED}) {
+            Propagator child = new Propagator(state);
+            child.assign(cell, value);
+            if (child.propagate()) {
+                result.children.add(new Candidate(child));
+            } else {
+                result.dead++;
+            }
+        }
+        return result;
+    }
+
+    // Grille complète : chaque ligne doit encore admettre son unique placement
+    private static boolean isVerified(Propagator state) {
+        for (int line = 0; line < state.getLineCount(); line++) {
+            if (state.countPlacements(line) != 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean executeNextStep(Nonogram nonogram) {
+        this.nonogram = nonogram;
+
+        if (changeQueue.isEmpty() && stats.getTotalSteps() == 0) {
+            Nonogram copy = new Nonogram(nonogram.getWidth(), nonogram.getHeight(),
+                    nonogram.getClues(), nonogram.getSolution());
+            for (int r = 0; r < nonogram.getHeight(); r++) {
+                for (int c = 0; c < nonogram.getWidth(); c++) {
+                    copy.setCell(r, c, nonogram.getCell(r, c));
+                }
+            }
+
+            BeamSearchStrategy solver = new BeamSearchStrategy();
+            solver.setBeamWidth(beamWidth);
+            solver.setLevelTimeMs(levelTimeMs);
+            solver.setParallelism(parallelism);
+            boolean solved = solver.solve(copy);
+            System.out.println(solved ? "✅ Copie résolue" : "❌ Échec");
+
+            for (int r = 0; r < nonogram.getHeight(); r++) {
+                for (int c = 0; c < nonogram.getWidth(); c++) {
+                    if (nonogram.getCell(r, c) != copy.getCell(r, c)) {
+                        changeQueue.add(new CellChange(r, c, copy.getCell(r, c)));
+                    }
+                }
+            }
+            if (changeQueue.isEmpty()) {
+                return false;
+            }
+        }
+
+        if (!changeQueue.isEmpty()) {
+            CellChange change = changeQueue.poll();
+            nonogram.setCell(change.row, change.col, change.state);
+            stats.incrementSteps();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean hasNextStep() {
+        return stepByStepMode && nonogram != null && !nonogram.isSolved()
+                && (stats.getTotalSteps() == 0 || !changeQueue.isEmpty());
+    }
+
+    @Override
+    public int getCurrentStep() {
+        return stats.getTotalSteps();
+    }
+
+    private int countDeterminedCells() {
+        int count = 0;
+        for (int r = 0; r < nonogram.getHeight(); r++) {
+            for (int c = 0; c < nonogram.getWidth(); c++) {
+                if (nonogram.getCell(r, c) != CellState.EMPTY) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    // Grandes grilles aléatoires : java BeamSearchStrategy [taille] [grilles] [K]
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        int width = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_BEAM_WIDTH;
+        Random random = new Random(7);
+
+        for (int i = 0; i < count; i++) {
+            CellState[][] grid = new CellState[size][size];
+            for (int r = 0; r < size; r++) {
+                for (int c = 0; c < size; c++) {
+                    grid[r][c] = random.nextBoolean() ? CellState.FILLED : CellState.EMPTY;
+                }
+            }
+            LineClues clues = new LineClues(ConcurrentPropagator.computeClues(grid, true),
+                    ConcurrentPropagator.computeClues(grid, false));
+            Nonogram puzzle = new Nonogram(size, size, clues, grid);
+
+            BeamSearchStrategy beam = new BeamSearchStrategy();
+            beam.setBeamWidth(width);
+            beam.solve(puzzle, SolveBudget.ofTimeout(MAX_TIME_MS));
+            SolverStatistics s = beam.getStatistics();
+            System.out.println(String.format("  grille %d : %s en %d ms, complétion %.1f%%",
+                    i, beam.isSolutionFound() ? "résolue" : "non résolue", s.getExecutionTimeMs(), s.getCompletionPercentage()));
+        }
+    }
+}
\ No newline at end of file
@@ -8,11 +8,21 @@ import java.util.*;
  */
 public class BenchmarkComplet {
     
+    // Unicité non prouvée dans ce délai : la grille est refusée
+    private static final long TIMEOUT_UNICITE_MS = 2000;
+    
     private List<SolverStrategy> strategies;
     private List<Nonogram> puzzles150;
     private Map<String, List<SolverStatistics>> resultats;
+    // Option --anytime : sans solution à l'échéance, la complétion mesure la meilleure grille partielle
+    private final boolean modeAnytime;
     
     public BenchmarkComplet() {
+        this(false);
+    }
+    
+    public BenchmarkComplet(boolean modeAnytime) {
+        this.modeAnytime = modeAnytime;
         this.strategies = new ArrayList<>();
         this.puzzles150 = new ArrayList<>();
         this.resultats = new HashMap<>();
@@ -27,8 +37,17 @@ public class BenchmarkComplet {
         strategies.add(new BacktrackingSolver());
         strategies.add(new AIHeuristicStrategy());
         strategies.add(new AdvancedAIStrategy()); // 🆕 NOUVELLE STRATÉGIE
+        strategies.add(new SatSolverStrategy());
+        strategies.add(new LdsStrategy());
+        strategies.add(new BeamSearchStrategy());
+        strategies.add(new AnnealingStrategy());
+        strategies.add(new GeneticStrategy());
+        strategies.add(new PortfolioStrategy());
         
         for (SolverStrategy s : strategies) {
+            if (modeAnytime) {
+                s.setAnytimeMode(true);
+            }
             resultats.put(s.getName(), new ArrayList<>());
             System.out.println("  ✅ " + s.getName());
         }
@@ -367,7 +386,7 @@ public class BenchmarkComplet {
             int[][] colClues = calculerIndicesColonnes(solution, taille);
             LineClues clues = new LineClues(rowClues, colClues);
             
-            if (PuzzleValidator.hasUniqueSolution(clues, taille, taille)) {
+            if (PuzzleValidator.hasUniqueSolution(clues, taille, taille, SolveBudget.ofTimeout(TIMEOUT_UNICITE_MS))) {
                 return new Nonogram(taille, taille, clues, solution);
             }
         }
@@ -377,9 +396,11 @@ public class BenchmarkComplet {
     
     private boolean resoudreAvecTimeout(SolverStrategy strategy, Nonogram puzzle, long timeoutMs) {
         final boolean[] resultat = {false};
+        CancellationToken token = new CancellationToken();
+        SolveBudget budget = new SolveBudget(timeoutMs, Long.MAX_VALUE, token);
         
         Thread thread = new Thread(() -> {
-            resultat[0] = strategy.solve(puzzle);
+            resultat[0] = strategy.solve(puzzle, budget);
         });
         
         thread.start();
@@ -387,7 +408,10 @@ public class BenchmarkComplet {
         try {
             thread.join(timeoutMs);
             if (thread.isAlive()) {
+                // Annulation coopérative : la stratégie s'arrête avant de servir au puzzle suivant
+                token.cancel();
                 thread.interrupt();
+                thread.join(1000);
                 return false;
             }
         } catch (InterruptedException e) {
@@ -463,7 +487,7 @@ public class BenchmarkComplet {
     }
     
     public static void main(String[] args) {
-        BenchmarkComplet benchmark = new BenchmarkComplet();
+        BenchmarkComplet benchmark = new BenchmarkComplet(Arrays.asList(args).contains("--anytime"));
         
         System.out.println("🎯 BENCHMARK COMPLET - 150 PUZZLES");
         System.out.println("=".repeat(80));
@@ -0,0 +1,132 @@
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * BENCHMARKS DE LA RECHERCHE
+ * Mesures ponctuelles sur des grilles aléatoires, hors du benchmark complet :
+ *   java BenchmarkRecherche branchement [taille] [grilles]
+ *   java BenchmarkRecherche parallele [taille] [grilles] [threads]
+ */
+public class BenchmarkRecherche {
+    
+    // Les solveurs écrivent leur progression sur la console : on la coupe pendant les mesures
+    private static final PrintStream SORTIE = System.out;
+    private static final PrintStream SILENCE = new PrintStream(OutputStream.nullOutputStream());
+    
+    // Nœuds explorés en branchant par case et par ligne
+    public static void comparerBranchement(int taille, int grilles) {
+        Random random = new Random(7);
+        
+        String[] noms = {"Backtracking (case)", "Backtracking (ligne)", "IA MRV (case)", "IA MRV (ligne)"};
+        long[] noeuds = new long[noms.length];
+        long[] temps = new long[noms.length];
+        int[] resolues = new int[noms.length];
+        
+        for (int i = 0; i < grilles; i++) {
+            CellState[][] grille = grilleAleatoire(taille, random);
+            LineClues clues = new LineClues(ConcurrentPropagator.computeClues(grille, true),
+                    ConcurrentPropagator.computeClues(grille, false));
+            
+            for (int s = 0; s < noms.length; s++) {
+                SolverStrategy strategy;
+                if (s < 2) {
+                    BacktrackingSolver solver = new BacktrackingSolver();
+                    solver.setLineBranchingEnabled(s == 1);
+                    strategy = solver;
+                } else {
+                    AIHeuristicStrategy solver = new AIHeuristicStrategy();
+                    solver.setLineBranchingEnabled(s == 3);
+                    strategy = solver;
+                }
+                System.setOut(SILENCE);
+                try {
+                    if (strategy.solve(new Nonogram(taille, taille, clues, grille))) {
+                        resolues[s]++;
+                    }
+                } finally {
+                    System.setOut(SORTIE);
+                }
+                noeuds[s] += strategy.getStatistics().getTotalSteps();
+                temps[s] += strategy.getStatistics().getExecutionTimeMs();
+            }
+        }
+        
+        System.out.println(grilles + " grilles " + taille + "×" + taille);
+        for (int s = 0; s < noms.length; s++) {
+            System.out.println(String.format("  %-22s résolues %2d | nœuds %8d | %6d ms",
+                    noms[s], resolues[s], noeuds[s], temps[s]));
+        }
+    }
+    
+    // Recherche parallèle à 1 thread contre N threads ; le gain dépend du nombre de cœurs
+    public static void comparerParallelisme(int taille, int grilles, int threads) {
+        Random random = new Random(7);
+        Supplier<BranchingHeuristic> premiereInconnue = () -> new BranchingHeuristic() {
+            @Override
+            public int selectCell(Propagator propagator) {
+                for (int cell = 0; cell < propagator.getCellCount(); cell++) {
+                    if (propagator.get(cell) == Propagator.UNKNOWN) return cell;
+                }
+                return -1;
+            }
+            
+            @Override
+            public byte firstValue(Propagator propagator, int cell) {
+                return Propagator.FILLED;
+            }
+        };
+        
+        long sequentielMs = 0;
+        long paralleleMs = 0;
+        for (int i = 0; i < grilles; i++) {
+            CellState[][] grille = grilleAleatoire(taille, random);
+            LineClues clues = new LineClues(ConcurrentPropagator.computeClues(grille, true),
+                    ConcurrentPropagator.computeClues(grille, false));
+            
+            long t0 = System.nanoTime();
+            new ParallelSearch(premiereInconnue, 1).solve(new Propagator(clues, taille, taille));
+            long t1 = System.nanoTime();
+            new ParallelSearch(premiereInconnue, threads).solve(new Propagator(clues, taille, taille));
+            long t2 = System.nanoTime();
+            sequentielMs += (t1 - t0) / 1_000_000;
+            paralleleMs += (t2 - t1) / 1_000_000;
+        }
+        
+        System.out.println(grilles + " grilles " + taille + "×" + taille + " | threads : " + threads
+                + " | cœurs : " + Runtime.getRuntime().availableProcessors());
+        System.out.println("  1 thread   : " + sequentielMs + " ms");
+        System.out.println("  " + threads + " threads : " + paralleleMs + " ms");
+        System.out.println("  Rapport    : " + String.format("%.2f", sequentielMs / (double) Math.max(1, paralleleMs)) + "×");
+    }
+    
+    private static CellState[][] grilleAleatoire(int taille, Random random) {
+        CellState[][] grille = new CellState[taille][taille];
+        for (int r = 0; r < taille; r++) {
+            for (int c = 0; c < taille; c++) {
+                grille[r][c] = random.nextBoolean() ? CellState.FILLED : CellState.EMPTY;
+            }
+        }
+        return grille;
+    }
+    
+    private static int argument(String[] args, int index, int defaut) {
+        return args.length > index ? Integer.parseInt(args[index]) : defaut;
+    }
+    
+    public static void main(String[] args) {
+        String mesure = args.length > 0 ? args[0] : "branchement";
+        switch (mesure) {
+            case "branchement":
+                comparerBranchement(argument(args, 1, 25), argument(args, 2, 10));
+                break;
+            case "parallele":
+                comparerParallelisme(argument(args, 1, 30), argument(args, 2, 5),
+                        argument(args, 3, Runtime.getRuntime().availableProcessors()));
+                break;
+            default:
+                System.err.println("❌ Mesure inconnue : " + mesure);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,34 @@
+import java.util.Random;
+
+/**
+ * Choix de la décision suivante pour SearchEngine.
+ * Une décision porte soit sur une case (deux valeurs), soit sur une ligne entière
+ * (un placement par branche).
+ */
+interface BranchingHeuristic {
+
+    /** Case indéterminée sur laquelle brancher, ou -1 s'il n'y en a plus. */
+    int selectCell(Propagator propagator);
+
+    /** Valeur essayée en premier pour cette case (FILLED ou CROSSED). */
+    byte firstValue(Propagator propagator, int cell);
+
+    /** Ligne sur laquelle brancher placement par placement, ou -1 pour brancher sur une case. */
+    default int selectLine(Propagator propagator) {
+        return -1;
+    }
+
+    /** Départage les égalités au hasard (redémarrages) ; null = ordre déterministe. */
+    default void setTieBreak(Random random) {
+    }
+
+    /** Limite le choix aux cases marquées (une composante indépendante) ; null = toutes. */
+    default void restrictTo(boolean[] cells) {
+    }
+
+    /** Placements de la ligne compatibles avec ses cases connues, dans l'ordre d'essai. */
+    default LinePlacements linePlacements(Propagator propagator, int line) {
+        return LinePlacements.generate(propagator.getBlocks(line), propagator.lineLength(line),
+                propagator.lineState(line));
+    }
+}
\ No newline at end of file
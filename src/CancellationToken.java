@@ -0,0 +1,25 @@
+/**
+ * Jeton d'annulation coopérative : le demandeur appelle cancel(), le solveur teste
+ * isCancelled() dans ses boucles. Un jeton enfant est annulé avec son parent.
+ */
+public class CancellationToken {
+
+    private final CancellationToken parent;
+    private volatile boolean cancelled;
+
+    public CancellationToken() {
+        this(null);
+    }
+
+    public CancellationToken(CancellationToken parent) {
+        this.parent = parent;
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled || (parent != null && parent.isCancelled());
+    }
+}
\ No newline at end of file
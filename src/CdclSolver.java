@@ -0,0 +1,457 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Moteur SAT CDCL embarqué (pur Java, sans processus externe) :
+ * littéraux surveillés, apprentissage 1-UIP, heuristique VSIDS avec sauvegarde
+ * de phase, redémarrages Luby et nettoyage des clauses apprises aux redémarrages.
+ * Les variables sont numérotées à partir de 1 comme en DIMACS.
+ */
+class CdclSolver {
+
+    static final int UNKNOWN = 0;
+    static final int SAT = 10;
+    static final int UNSAT = 20;
+
+    private static final int RESTART_UNIT = 100;
+    private static final double VAR_DECAY = 0.95;
+
+    private final int numVars;
+    private final List<int[]> clauses = new ArrayList<>();
+    private int originalCount;
+    private int maxLearnts;
+
+    private final int[][] watches;
+    private final int[] watchSize;
+
+    // 0 = libre, 1 = vrai, -1 = faux
+    private final byte[] assigns;
+    private final int[] level;
+    private final int[] reason;
+    private final int[] trail;
+    private int trailSize;
+    private int qhead;
+    private final int[] trailLim;
+    private int decisionLevel;
+
+    private final double[] activity;
+    private double varInc = 1.0;
+    private final boolean[] phase;
+    private final int[] heap;
+    private final int[] heapIndex;
+    private int heapSize;
+
+    private final boolean[] seen;
+    private boolean unsat;
+
+    private long decisions;
+    private long conflicts;
+    private long propagations;
+    private long restarts;
+
+    CdclSolver(int numVars) {
+        this.numVars = numVars;
+        this.watches = new int[2 * numVars][];
+        this.watchSize = new int[2 * numVars];
+        for (int i = 0; i < watches.length; i++) {
+            watches[i] = new int[4];
+        }
+        this.assigns = new byte[numVars];
+        this.level = new int[numVars];
+        this.reason = new int[numVars];
+        this.trail = new int[numVars];
+        this.trailLim = new int[numVars + 1];
+        this.activity = new double[numVars];
+        this.phase = new boolean[numVars];
+        this.heap = new int[numVars];
+        this.heapIndex = new int[numVars];
+        this.seen = new boolean[numVars];
+        Arrays.fill(reason, -1);
+        for (int v = 0; v < numVars; v++) {
+            heapIndex[v] = -1;
+            heapInsert(v);
+        }
+    }
+
+    // Littéral interne : 2*(var-1) pour var, 2*(var-1)+1 pour ¬var
+    private static int toLit(int dimacs) {
+        return dimacs > 0 ? 2 * (dimacs - 1) : 2 * (-dimacs - 1) + 1;
+    }
+
+    private int value(int lit) {
+        int v = assigns[lit >> 1];
+        return (lit & 1) == 0 ? v : -v;
+    }
+
+    /** Ajoute une clause (littéraux DIMACS), avant l'appel à solve(). */
+    void addClause(int... dimacsLits) {
+        if (unsat) return;
+
+        int[] lits = new int[dimacsLits.length];
+        int n = 0;
+        outer:
+        for (int d : dimacsLits) {
+            int lit = toLit(d);
+            for (int i = 0; i < n; i++) {
+                if (lits[i] == lit) continue outer;
+                if (lits[i] == (lit ^ 1)) return; // tautologie
+            }
+            if (value(lit) == 1) return;
+            if (value(lit) == -1) continue;
+            lits[n++] = lit;
+        }
+
+        if (n == 0) {
+            unsat = true;
+        } else if (n == 1) {
+            enqueue(lits[0], -1);
+            if (propagate() != -1) unsat = true;
+        } else {
+            attach(Arrays.copyOf(lits, n));
+            originalCount = clauses.size();
+        }
+    }
+
+    private int attach(int[] clause) {
+        int index = clauses.size();
+        clauses.add(clause);
+        watch(clause[0], index);
+        watch(clause[1], index);
+        return index;
+    }
+
+    private void watch(int lit, int clause) {
+        if (watchSize[lit] == watches[lit].length) {
+            watches[lit] = Arrays.copyOf(watches[lit], watchSize[lit] * 2);
+        }
+        watches[lit][watchSize[lit]++] = clause;
+    }
+
+    private void enqueue(int lit, int from) {
+        int v = lit >> 1;
+        assigns[v] = (byte) ((lit & 1) == 0 ? 1 : -1);
+        level[v] = decisionLevel;
+        reason[v] = from;
+        trail[trailSize++] = lit;
+    }
+
+    // Retourne l'indice de la clause en conflit, ou -1
+    private int propagate() {
+        while (qhead < trailSize) {
+            int falseLit = trail[qhead++] ^ 1;
+            int[] list = watches[falseLit];
+            int n = watchSize[falseLit];
+            int i = 0;
+            int j = 0;
+            propagations++;
+
+            while (i < n) {
+                int ci = list[i++];
+                int[] c = clauses.get(ci);
+                if (c[0] == falseLit) {
+                    c[0] = c[1];
+                    c[1] = falseLit;
+                }
+                if (value(c[0]) == 1) {
+                    list[j++] = ci;
+                    continue;
+                }
+
+                boolean moved = false;
+                for (int k = 2; k < c.length; k++) {
+                    if (value(c[k]) != -1) {
+                        c[1] = c[k];
+                        c[k] = falseLit;
+                        watch(c[1], ci);
+                        moved = true;
+                        break;
+                    }
+                }
+                if (moved) continue;
+
+                list[j++] = ci;
+                if (value(c[0]) == -1) {
+                    while (i < n) {
+                        list[j++] = list[i++];
+                    }
+                    watchSize[falseLit] = j;
+                    qhead = trailSize;
+                    return ci;
+                }
+                enqueue(c[0], ci);
+            }
+            watchSize[falseLit] = j;
+        }
+        return -1;
+    }
+
+    /** Recherche jusqu'au résultat ou jusqu'à épuisement du budget (nœuds = décisions). */
+    int solve(SolveBudget budget) {
+        if (unsat || propagate() != -1) {
+            return UNSAT;
+        }
+        maxLearnts = Math.max(1000, originalCount / 3);
+
+        long restartLimit = luby(0) * RESTART_UNIT;
+        long conflictsSinceRestart = 0;
+        int[] learnt = new int[numVars];
+
+        while (true) {
+            int confl = propagate();
+            if (confl != -1) {
+                conflicts++;
+                conflictsSinceRestart++;
+                if (decisionLevel == 0) {
+                    return UNSAT;
+                }
+
+                int size = analyze(confl, learnt);
+                int backLevel = 0;
+                if (size > 1) {
+                    int maxIndex = 1;
+                    for (int i = 2; i < size; i++) {
+                        if (level[learnt[i] >> 1] > level[learnt[maxIndex] >> 1]) maxIndex = i;
+                    }
+                    int tmp = learnt[1];
+                    learnt[1] = learnt[maxIndex];
+                    learnt[maxIndex] = tmp;
+                    backLevel = level[learnt[1] >> 1];
+                }
+                cancelUntil(backLevel);
+                if (size == 1) {
+                    enqueue(learnt[0], -1);
+                } else {
+                    int index = attach(Arrays.copyOf(learnt, size));
+                    enqueue(learnt[0], index);
+                }
+                varInc /= VAR_DECAY;
+
+                if ((conflicts & 255) == 0 && budget.shouldStop(decisions)) {
+                    return UNKNOWN;
+                }
+            } else {
+                if (conflictsSinceRestart >= restartLimit) {
+                    restarts++;
+                    cancelUntil(0);
+                    conflictsSinceRestart = 0;
+                    restartLimit = luby(restarts) * RESTART_UNIT;
+                    if (clauses.size() - originalCount > maxLearnts) {
+                        reduceLearnts();
+                        maxLearnts += maxLearnts / 10;
+                    }
+                    continue;
+                }
+
+                int v = pickBranchVar();
+                if (v < 0) {
+                    return SAT;
+                }
+                decisions++;
+                if ((decisions & 1023) == 0 && budget.shouldStop(decisions)) {
+                    return UNKNOWN;
+                }
+                trailLim[decisionLevel++] = trailSize;
+                enqueue(2 * v + (phase[v] ? 0 : 1), -1);
+            }
+        }
+    }
+
+    // Analyse 1-UIP : remplit learnt (learnt[0] = littéral assertif), retourne sa taille
+    private int analyze(int confl, int[] learnt) {
+        int size = 1;
+        int pathCount = 0;
+        int p = -1;
+        int index = trailSize - 1;
+
+        do {
+            int[] c = clauses.get(confl);
+            for (int k = (p == -1 ? 0 : 1); k < c.length; k++) {
+                int q = c[k];
+                int v = q >> 1;
+                if (!seen[v] && level[v] > 0) {
+                    seen[v] = true;
+                    bumpVar(v);
+                    if (level[v] >= decisionLevel) {
+                        pathCount++;
+                    } else {
+                        learnt[size++] = q;
+                    }
+                }
+            }
+            while (!seen[trail[index] >> 1]) {
+                index--;
+            }
+            p = trail[index--];
+            confl = reason[p >> 1];
+            seen[p >> 1] = false;
+            pathCount--;
+        } while (pathCount > 0);
+
+        learnt[0] = p ^ 1;
+        for (int i = 1; i < size; i++) {
+            seen[learnt[i] >> 1] = false;
+        }
+        return size;
+    }
+
+    private void cancelUntil(int target) {
+        if (decisionLevel <= target) return;
+        for (int i = trailSize - 1; i >= trailLim[target]; i--) {
+            int lit = trail[i];
+            int v = lit >> 1;
+            phase[v] = (lit & 1) == 0;
+            assigns[v] = 0;
+            reason[v] = -1;
+            if (heapIndex[v] < 0) heapInsert(v);
+        }
+        trailSize = trailLim[target];
+        qhead = trailSize;
+        decisionLevel = target;
+    }
+
+    private int pickBranchVar() {
+        while (heapSize > 0) {
+            int v = heapPop();
+            if (assigns[v] == 0) return v;
+        }
+        return -1;
+    }
+
+    // Au niveau 0 : supprime les clauses satisfaites et la moitié la plus longue des apprises
+    private void reduceLearnts() {
+        List<int[]> learnts = new ArrayList<>();
+        List<int[]> kept = new ArrayList<>();
+        for (int i = 0; i < clauses.size(); i++) {
+            int[] c = clauses.get(i);
+            if (isSatisfied(c)) continue;
+            if (i < originalCount) {
+                kept.add(c);
+            } else {
+                learnts.add(c);
+            }
+        }
+        int newOriginal = kept.size();
+        learnts.sort((a, b) -> Integer.compare(a.length, b.length));
+        for (int i = 0; i < learnts.size(); i++) {
+            if (i < learnts.size() / 2 || learnts.get(i).length <= 2) {
+                kept.add(learnts.get(i));
+            }
+        }
+
+        clauses.clear();
+        Arrays.fill(watchSize, 0);
+        for (int v = 0; v < numVars; v++) {
+            reason[v] = -1;
+        }
+        for (int[] c : kept) {
+            // Littéraux non faux en tête pour rétablir la surveillance
+            int front = 0;
+            for (int k = 0; k < c.length && front < 2; k++) {
+                if (value(c[k]) != -1) {
+                    int tmp = c[front];
+                    c[front++] = c[k];
+                    c[k] = tmp;
+                }
+            }
+            attach(c);
+        }
+        originalCount = newOriginal;
+    }
+
+    private boolean isSatisfied(int[] c) {
+        for (int lit : c) {
+            if (value(lit) == 1) return true;
+        }
+        return false;
+    }
+
+    private void bumpVar(int v) {
+        activity[v] += varInc;
+        if (activity[v] > 1e100) {
+            for (int i = 0; i < numVars; i++) {
+                activity[i] *= 1e-100;
+            }
+            varInc *= 1e-100;
+        }
+        if (heapIndex[v] >= 0) siftUp(heapIndex[v]);
+    }
+
+    private void heapInsert(int v) {
+        heap[heapSize] = v;
+        heapIndex[v] = heapSize;
+        siftUp(heapSize++);
+    }
+
+    private int heapPop() {
+        int top = heap[0];
+        heapIndex[top] = -1;
+        heapSize--;
+        if (heapSize > 0) {
+            heap[0] = heap[heapSize];
+            heapIndex[heap[0]] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    private void siftUp(int i) {
+        int v = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >> 1;
+            if (activity[heap[parent]] >= activity[v]) break;
+            heap[i] = heap[parent];
+            heapIndex[heap[i]] = i;
+            i = parent;
+        }
+        heap[i] = v;
+        heapIndex[v] = i;
+    }
+
+    private void siftDown(int i) {
+        int v = heap[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize) break;
+            if (child + 1 < heapSize && activity[heap[child + 1]] > activity[heap[child]]) child++;
+            if (activity[heap[child]] <= activity[v]) break;
+            heap[i] = heap[child];
+            heapIndex[heap[i]] = i;
+            i = child;
+        }
+        heap[i] = v;
+        heapIndex[v] = i;
+    }
+
+    // Suite de Luby : 1 1 2 1 1 2 4 1 1 2 1 1 2 4 8 ...
+    static long luby(long i) {
+        long size = 1;
+        int seq = 0;
+        while (size < i + 1) {
+            seq++;
+            size = 2 * size + 1;
+        }
+        long x = i;
+        while (size - 1 != x) {
+            size = (size - 1) >> 1;
+            seq--;
+            x = x % size;
+        }
+        return 1L << seq;
+    }
+
+    /** Valeur fixée au niveau 0, donc impliquée par les clauses : 1 vrai, -1 faux, 0 inconnue. */
+    int rootValue(int var) {
+        return level[var - 1] == 0 ? assigns[var - 1] : 0;
+    }
+
+    /** Valeur de la variable (numéro DIMACS) dans le modèle trouvé. */
+    boolean modelValue(int var) {
+        return assigns[var - 1] == 1;
+    }
+
+    long getDecisions() { return decisions; }
+    long getConflicts() { return conflicts; }
+    long getPropagations() { return propagations; }
+    long getRestarts() { return restarts; }
+}
\ No newline at end of file
@@ -0,0 +1,362 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Recherche par composantes indépendantes. Après propagation, deux lignes non résolues
+ * sont liées si elles se croisent sur une case inconnue (union-find sur les lignes) :
+ * les cases inconnues de deux composantes différentes ne partagent aucune ligne, donc
+ * aucune contrainte. Chaque composante est résolue par sa propre recherche, limitée à
+ * ses cases ; le nombre de solutions de la grille est le produit de ceux des composantes.
+ * Les composantes assez grosses sont résolues en parallèle ; une composante unique est
+ * confiée à ParallelSearch quand plusieurs threads sont disponibles.
+ * Les symétries des indices ne sont exploitées que sur une composante unique : l'ordre
+ * lexicographique porte sur toute la grille et lierait des composantes indépendantes.
+ * Les sauvegardes (SearchCheckpoint) ne couvrent que la résolution séquentielle.
+ */
+class ComponentSearch {
+
+    // En dessous, une composante ne justifie pas un thread
+    private static final int MIN_PARALLEL_CELLS = 32;
+
+    private final Supplier<BranchingHeuristic> heuristics;
+    private final int parallelism;
+
+    private boolean backjumpingEnabled = true;
+    private SolveBudget budget = SolveBudget.unlimited();
+    private int maxBacktracks = Integer.MAX_VALUE;
+    private RestartPolicy restartPolicy = RestartPolicy.none();
+    private int transpositionTableMb;
+    private boolean symmetryBreaking = true;
+    private AnytimeGrid anytime;
+    private SearchCheckpoint checkpoint;
+
+    private int componentCount;
+    private long symmetryPrunes;
+    private boolean aborted;
+    private boolean exhausted;
+
+    ComponentSearch(Supplier<BranchingHeuristic> heuristics, int parallelism) {
+        this.heuristics = heuristics;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    void setBackjumpingEnabled(boolean enabled) {
+        this.backjumpingEnabled = enabled;
+    }
+
+    void setLimits(SolveBudget budget, int maxBacktracks) {
+        this.budget = budget;
+        this.maxBacktracks = maxBacktracks;
+    }
+
+    void setRestartPolicy(RestartPolicy policy) {
+        this.restartPolicy = policy;
+    }
+
+    void setTranspositionTableMb(int megabytes) {
+        this.transpositionTableMb = megabytes;
+    }
+
+    void setSymmetryBreaking(boolean enabled) {
+        this.symmetryBreaking = enabled;
+    }
+
+    // Meilleur état partiel de la résolution (null = mode désactivé) ; le comptage l'ignore
+    void setAnytime(AnytimeGrid anytime) {
+        this.anytime = anytime;
+    }
+
+    void setCheckpoint(SearchCheckpoint checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+
+    /** Cases inconnues de chaque composante, la plus grosse en tête. */
+    static List<int[]> components(Propagator propagator) {
+        int height = propagator.getHeight();
+        int width = propagator.getWidth();
+        int[] parent = new int[propagator.getLineCount()];
+        for (int line = 0; line < parent.length; line++) {
+            parent[line] = line;
+        }
+        for (int cell = 0; cell < propagator.getCellCount(); cell++) {
+            if (propagator.get(cell) == Propagator.UNKNOWN) {
+                int a = find(parent, cell / width);
+                int b = find(parent, height + cell % width);
+                if (a != b) parent[a] = b;
+            }
+        }
+
+        int[] index = new int[parent.length];
+        int[] size = new int[parent.length];
+        List<int[]> parts = new ArrayList<>();
+        for (int cell = 0; cell < propagator.getCellCount(); cell++) {
+            if (propagator.get(cell) == Propagator.UNKNOWN) {
+                size[find(parent, cell / width)]++;
+            }
+        }
+        for (int line = 0; line < parent.length; line++) {
+            if (size[line] > 0) {
+                index[line] = parts.size();
+                parts.add(new int[size[line]]);
+            }
+        }
+        int[] fill = new int[parts.size()];
+        for (int cell = 0; cell < propagator.getCellCount(); cell++) {
+            if (propagator.get(cell) == Propagator.UNKNOWN) {
+                int part = index[find(parent, cell / width)];
+                parts.get(part)[fill[part]++] = cell;
+            }
+        }
+        parts.sort((a, b) -> b.length - a.length);
+        return parts;
+    }
+
+    private static int find(int[] parent, int line) {
+        while (parent[line] != line) {
+            parent[line] = parent[parent[line]];
+            line = parent[line];
+        }
+        return line;
+    }
+
+    /** Résout la grille en place ; retourne true si toutes les composantes ont une solution. */
+    boolean solve(Propagator root, SolverStatistics stats) {
+        aborted = false;
+        exhausted = false;
+        root.enqueueAll();
+        if (!root.propagate()) {
+            componentCount = 0;
+            exhausted = true;
+            return false;
+        }
+        if (anytime != null) {
+            anytime.offer(root);
+        }
+        List<int[]> parts = components(root);
+        componentCount = parts.size();
+        if (parts.isEmpty()) {
+            return true;
+        }
+        if (parts.size() == 1 && parallelism > 1) {
+            return solveParallel(root, stats);
+        }
+        if (parallelism > 1 && parts.size() > 1 && parts.get(1).length >= MIN_PARALLEL_CELLS) {
+            return solveConcurrently(root, parts, stats);
+        }
+
+        TranspositionTable table = transpositionTableMb > 0 ? new TranspositionTable(transpositionTableMb) : null;
+        Symmetry symmetry = symmetryBreaking && parts.size() == 1 ? Symmetry.detect(root) : null;
+        try {
+            for (int[] part : parts) {
+                Propagator solution = solvePart(root, part, stats, budget, table, symmetry, checkpoint);
+                if (solution == null) {
+                    return false;
+                }
+                copyPart(solution, root, part);
+                if (anytime != null) {
+                    anytime.offer(root);
+                }
+            }
+            return true;
+        } finally {
+            if (table != null) {
+                stats.setTranspositionStats(table.getLookups(), table.getHits());
+            }
+        }
+    }
+
+    private Propagator solvePart(Propagator root, int[] part, SolverStatistics stats, SolveBudget limits,
+                                 TranspositionTable table, Symmetry symmetry, SearchCheckpoint checkpoint) {
+        boolean[] mask = mask(root, part);
+        RestartingSearch search = new RestartingSearch(root, () -> restricted(mask), restartPolicy, stats);
+        search.setBackjumpingEnabled(backjumpingEnabled);
+        search.setLimits(limits, maxBacktracks);
+        search.setTranspositionTable(table);
+        search.setSymmetry(symmetry);
+        search.setAnytime(anytime);
+        if (checkpoint != null) {
+            checkpoint.setScope(mask);
+            search.setCheckpoint(checkpoint);
+        }
+        SearchEngine.Status status = search.run();
+        if (status == SearchEngine.Status.ABORTED) {
+            aborted = true;
+        } else if (status == SearchEngine.Status.EXHAUSTED) {
+            exhausted = true;
+        }
+        return status == SearchEngine.Status.SOLVED ? search.getSolution() : null;
+    }
+
+    // Une tâche par composante, chacune avec ses statistiques et sa table ; un échec annule les autres
+    private boolean solveConcurrently(Propagator root, List<int[]> parts, SolverStatistics stats) {
+        CancellationToken race = new CancellationToken(budget.getToken());
+        SolveBudget shared = budget.withToken(race);
+        int tableMb = transpositionTableMb / parts.size();
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(parallelism, parts.size()));
+        List<Future<Propagator>> results = new ArrayList<>();
+        List<SolverStatistics> partStats = new ArrayList<>();
+        List<TranspositionTable> tables = new ArrayList<>();
+        for (int[] part : parts) {
+            SolverStatistics local = new SolverStatistics();
+            TranspositionTable table = tableMb > 0 ? new TranspositionTable(tableMb) : null;
+            partStats.add(local);
+            tables.add(table);
+            results.add(pool.submit(() -> {
+                Propagator solution = solvePart(root, part, local, shared, table, null, null);
+                if (solution == null) race.cancel();
+                return solution;
+            }));
+        }
+
+        boolean found = true;
+        List<Propagator> solutions = new ArrayList<>();
+        try {
+            for (Future<Propagator> result : results) {
+                Propagator solution = result.get();
+                found &= solution != null;
+                solutions.add(solution);
+            }
+        } catch (Exception e) {
+            found = false;
+            aborted = true;
+        } finally {
+            pool.shutdownNow();
+        }
+
+        long lookups = 0;
+        long hits = 0;
+        for (int i = 0; i < parts.size(); i++) {
+            SolverStatistics local = partStats.get(i);
+            stats.setTotalSteps(stats.getTotalSteps() + local.getTotalSteps());
+            stats.setBacktrackCount(stats.getBacktrackCount() + local.getBacktrackCount());
+            for (int r = 0; r < local.getRestartCount(); r++) {
+                stats.incrementRestarts();
+            }
+            if (tables.get(i) != null) {
+                lookups += tables.get(i).getLookups();
+                hits += tables.get(i).getHits();
+            }
+        }
+        if (tableMb > 0) {
+            stats.setTranspositionStats(lookups, hits);
+        }
+        if (!found) {
+            // Résultat partiel : les composantes résolues sont indépendantes des autres
+            if (anytime != null && solutions.size() == parts.size()) {
+                for (int i = 0; i < parts.size(); i++) {
+                    if (solutions.get(i) != null) {
+                        copyPart(solutions.get(i), root, parts.get(i));
+                    }
+                }
+                anytime.offer(root);
+            }
+            return false;
+        }
+        for (int i = 0; i < parts.size(); i++) {
+            copyPart(solutions.get(i), root, parts.get(i));
+        }
+        return true;
+    }
+
+    private boolean solveParallel(Propagator root, SolverStatistics stats) {
+        ParallelSearch search = new ParallelSearch(heuristics, parallelism);
+        search.setLimits(budget, maxBacktracks);
+        search.setAnytime(anytime);
+        boolean found = search.solve(root);
+        stats.setTotalSteps(stats.getTotalSteps() + (int) search.getNodes());
+        stats.setBacktrackCount(stats.getBacktrackCount() + (int) search.getBacktracks());
+        aborted = search.isAborted();
+        exhausted = !found && !aborted;
+        if (found) {
+            copyPart(search.getSolution(), root, components(root).get(0));
+        }
+        return found;
+    }
+
+    /**
+     * Compte les solutions (produit des composantes), en s'arrêtant dès que limit est atteint.
+     * Une grille entièrement résolue par propagation n'ouvre aucune recherche.
+     */
+    long count(Propagator root, long limit) {
+        aborted = false;
+        Propagator state = new Propagator(root);
+        state.enqueueAll();
+        if (!state.propagate()) {
+            componentCount = 0;
+            return 0;
+        }
+        List<int[]> parts = components(state);
+        componentCount = parts.size();
+        Symmetry symmetry = symmetryBreaking && parts.size() == 1 ? Symmetry.detect(state) : null;
+
+        // Toutes les composantes doivent avoir une solution : on compte d'abord les petites
+        long[] counts = new long[parts.size()];
+        for (int i = parts.size() - 1; i >= 0; i--) {
+            counts[i] = countPart(state, parts.get(i), limit, symmetry);
+            if (counts[i] == 0) {
+                return 0;
+            }
+        }
+        long total = 1;
+        for (long n : counts) {
+            total = n > limit / total ? limit : total * n;
+        }
+        return Math.min(total, limit);
+    }
+
+    // Avec les symétries, chaque solution trouvée représente toute son orbite
+    private long countPart(Propagator root, int[] part, long limit, Symmetry symmetry) {
+        Propagator state = new Propagator(root);
+        state.enqueueAll();
+        SolverStatistics local = new SolverStatistics();
+        SearchEngine engine = new SearchEngine(state, restricted(mask(root, part)), local);
+        engine.setBackjumpingEnabled(backjumpingEnabled);
+        engine.setLimits(budget, maxBacktracks);
+        engine.setSymmetry(symmetry);
+        long found = 0;
+        while (found < limit) {
+            SearchEngine.Status status = engine.run();
+            if (status == SearchEngine.Status.SOLVED) {
+                found += symmetry != null ? symmetry.orbitSize(state) : 1;
+            } else {
+                aborted |= status == SearchEngine.Status.ABORTED;
+                break;
+            }
+        }
+        symmetryPrunes += local.getSymmetryPrunes();
+        return found;
+    }
+
+    private BranchingHeuristic restricted(boolean[] mask) {
+        BranchingHeuristic heuristic = heuristics.get();
+        heuristic.restrictTo(mask);
+        return heuristic;
+    }
+
+    private static boolean[] mask(Propagator propagator, int[] part) {
+        boolean[] mask = new boolean[propagator.getCellCount()];
+        for (int cell : part) {
+            mask[cell] = true;
+        }
+        return mask;
+    }
+
+    private static void copyPart(Propagator from, Propagator to, int[] part) {
+        for (int cell : part) {
+            if (to.get(cell) == Propagator.UNKNOWN) {
+                to.assign(cell, from.get(cell));
+            }
+        }
+    }
+
+    int getComponentCount() { return componentCount; }
+    boolean isAborted() { return aborted; }
+    /** Vrai si une composante a épuisé son arbre : la grille n'a aucune solution. */
+    boolean isExhausted() { return exhausted; }
+    long getSymmetryPrunes() { return symmetryPrunes; }
+}
\ No newline at end of file
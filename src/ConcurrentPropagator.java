@@ -0,0 +1,307 @@
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Propagation asynchrone sans verrou pour les très grandes grilles.
+ * Les threads tirent les lignes "sales" d'une file concurrente, les déduisent avec
+ * LineSolver et publient chaque case par CAS dans une grille compactée
+ * (2 bits par case, 32 cases par mot). Une case modifiée remet la ligne croisée en file.
+ * La déduction par ligne est monotone : le point fixe obtenu (ou la contradiction)
+ * ne dépend pas de l'ordre de traitement, donc du nombre de threads.
+ */
+class ConcurrentPropagator {
+
+    private static final int CELLS_PER_WORD = 32;
+    private static ExecutorService pool;
+
+    private final int width;
+    private final int height;
+    private final int[][] blocks;
+    private final AtomicLongArray grid;
+
+    private final ConcurrentLinkedQueue<Integer> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicIntegerArray queued;
+    private final AtomicInteger pending = new AtomicInteger();
+    private volatile boolean contradiction;
+    private volatile boolean stopped;
+    private SolveBudget budget = SolveBudget.unlimited();
+
+    private final AtomicLong lineSolves = new AtomicLong();
+    private final AtomicLong cellUpdates = new AtomicLong();
+
+    ConcurrentPropagator(LineClues clues, int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.blocks = new int[height + width][];
+        for (int r = 0; r < height; r++) {
+            blocks[r] = LinePlacements.normalizeClue(clues.getRowClues()[r]);
+        }
+        for (int c = 0; c < width; c++) {
+            blocks[height + c] = LinePlacements.normalizeClue(clues.getColClues()[c]);
+        }
+        this.grid = new AtomicLongArray((width * height + CELLS_PER_WORD - 1) / CELLS_PER_WORD);
+        this.queued = new AtomicIntegerArray(height + width);
+    }
+
+    void load(Nonogram nonogram) {
+        for (int r = 0; r < height; r++) {
+            for (int c = 0; c < width; c++) {
+                CellState s = nonogram.getCell(r, c);
+                if (s != CellState.EMPTY) {
+                    publish(r * width + c, s == CellState.FILLED ? LineSolver.FILLED : LineSolver.CROSSED);
+                }
+            }
+        }
+    }
+
+    void writeTo(Nonogram nonogram) {
+        for (int r = 0; r < height; r++) {
+            for (int c = 0; c < width; c++) {
+                byte v = get(r * width + c);
+                if (v == LineSolver.FILLED) {
+                    nonogram.setCell(r, c, CellState.FILLED);
+                } else if (v == LineSolver.CROSSED) {
+                    nonogram.setCell(r, c, CellState.CROSSED);
+                }
+            }
+        }
+    }
+
+    boolean propagate(int threads) {
+        return propagate(threads, SolveBudget.unlimited());
+    }
+
+    /**
+     * Propage jusqu'au point fixe avec le nombre de threads donné.
+     * Retourne false si une contradiction est détectée. Chaque thread consulte le budget
+     * entre deux lignes ; s'il est épuisé la propagation s'arrête (voir isStopped).
+     */
+    boolean propagate(int threads, SolveBudget budget) {
+        this.budget = budget;
+        contradiction = false;
+        stopped = false;
+        for (int line = 0; line < height + width; line++) {
+            enqueue(line);
+        }
+
+        if (threads <= 1) {
+            runWorker();
+        } else {
+            ExecutorService executor = getPool();
+            Future<?>[] workers = new Future<?>[threads];
+            for (int t = 0; t < threads; t++) {
+                workers[t] = executor.submit(this::runWorker);
+            }
+            for (Future<?> f : workers) {
+                awaitWorker(f);
+            }
+        }
+
+        // En cas de contradiction les threads s'arrêtent sans vider la file
+        queue.clear();
+        for (int line = 0; line < height + width; line++) {
+            queued.set(line, 0);
+        }
+        pending.set(0);
+
+        return !contradiction;
+    }
+
+    // Une interruption de l'appelant arrête les threads, qui sont attendus avant de rendre la main
+    private void awaitWorker(Future<?> worker) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                worker.get();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+                stopped = true;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Échec de la propagation concurrente", e);
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runWorker() {
+        LineSolver solver = new LineSolver();
+        int maxLength = Math.max(width, height);
+        byte[] line = new byte[maxLength];
+        byte[] out = new byte[maxLength];
+
+        while (!contradiction && !stopped) {
+            if (budget.shouldStop(lineSolves.get())) {
+                stopped = true;
+                return;
+            }
+            Integer next = queue.poll();
+            if (next == null) {
+                if (pending.get() == 0) {
+                    return;
+                }
+                Thread.onSpinWait();
+                continue;
+            }
+
+            int index = next;
+            // Libéré avant la lecture : toute mise à jour ultérieure la remettra en file
+            queued.set(index, 0);
+            try {
+                solveLine(index, solver, line, out);
+            } finally {
+                pending.decrementAndGet();
+            }
+        }
+    }
+
+    private void solveLine(int index, LineSolver solver, byte[] line, byte[] out) {
+        boolean isRow = index < height;
+        int fixed = isRow ? index : index - height;
+        int length = isRow ? width : height;
+
+        for (int i = 0; i < length; i++) {
+            line[i] = get(isRow ? fixed * width + i : i * width + fixed);
+        }
+
+        lineSolves.incrementAndGet();
+        if (!solver.solve(blocks[index], line, length, out)) {
+            contradiction = true;
+            return;
+        }
+
+        for (int i = 0; i < length; i++) {
+            if (out[i] == line[i]) continue;
+
+            int cell = isRow ? fixed * width + i : i * width + fixed;
+            int result = publish(cell, out[i]);
+            if (result < 0) {
+                contradiction = true;
+                return;
+            }
+            if (result > 0) {
+                cellUpdates.incrementAndGet();
+                enqueue(isRow ? height + i : i);
+            }
+        }
+    }
+
+    /**
+     * Écrit une valeur par CAS : 1 si la case change, 0 si elle avait déjà cette valeur,
+     * -1 si elle porte déjà la valeur opposée.
+     */
+    private int publish(int cell, byte value) {
+        int word = cell / CELLS_PER_WORD;
+        int shift = (cell % CELLS_PER_WORD) * 2;
+        while (true) {
+            long old = grid.get(word);
+            int current = (int) ((old >>> shift) & 3);
+            if (current == value) return 0;
+            if (current != LineSolver.UNKNOWN) return -1;
+            if (grid.compareAndSet(word, old, old | ((long) value << shift))) return 1;
+        }
+    }
+
+    private byte get(int cell) {
+        return (byte) ((grid.get(cell / CELLS_PER_WORD) >>> ((cell % CELLS_PER_WORD) * 2)) & 3);
+    }
+
+    private void enqueue(int line) {
+        if (queued.compareAndSet(line, 0, 1)) {
+            pending.incrementAndGet();
+            queue.add(line);
+        }
+    }
+
+    private static synchronized ExecutorService getPool() {
+        if (pool == null) {
+            pool = Executors.newCachedThreadPool(r -> {
+                Thread t = new Thread(r, "propagation");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        return pool;
+    }
+
+    boolean isStopped() { return stopped; }
+    long getLineSolves() { return lineSolves.get(); }
+    long getCellUpdates() { return cellUpdates.get(); }
+
+    // Mesure du gain face au point fixe séquentiel (même moteur, un seul thread)
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 300;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        Random random = new Random(42);
+
+        CellState[][] solution = new CellState[size][size];
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                solution[r][c] = random.nextDouble() < 0.7 ? CellState.FILLED : CellState.EMPTY;
+            }
+        }
+        LineClues clues = new LineClues(computeClues(solution, true), computeClues(solution, false));
+
+        // Échauffement de la JVM
+        for (int i = 0; i < 3; i++) {
+            new ConcurrentPropagator(clues, size, size).propagate(1);
+            new ConcurrentPropagator(clues, size, size).propagate(threads);
+        }
+
+        ConcurrentPropagator sequential = new ConcurrentPropagator(clues, size, size);
+        long t0 = System.nanoTime();
+        boolean okSeq = sequential.propagate(1);
+        long seqMs = (System.nanoTime() - t0) / 1_000_000;
+
+        ConcurrentPropagator concurrent = new ConcurrentPropagator(clues, size, size);
+        long t1 = System.nanoTime();
+        boolean okPar = concurrent.propagate(threads);
+        long parMs = (System.nanoTime() - t1) / 1_000_000;
+
+        boolean same = okSeq == okPar;
+        for (int i = 0; i < sequential.grid.length() && same; i++) {
+            same = sequential.grid.get(i) == concurrent.grid.get(i);
+        }
+
+        System.out.println("Grille " + size + "×" + size + " | threads : " + threads);
+        System.out.println("  Séquentiel : " + seqMs + " ms (" + sequential.getLineSolves() + " lignes)");
+        System.out.println("  Concurrent : " + parMs + " ms (" + concurrent.getLineSolves() + " lignes)");
+        System.out.println("  Accélération : " + String.format("%.2f", seqMs / (double) Math.max(1, parMs)) + "×");
+        System.out.println("  Point fixe identique : " + (same ? "✅ OUI" : "❌ NON"));
+    }
+
+    // Lignes indexées par la hauteur, colonnes par la largeur : la grille peut être rectangulaire
+    static int[][] computeClues(CellState[][] solution, boolean rows) {
+        int height = solution.length;
+        int width = height > 0 ? solution[0].length : 0;
+        int lines = rows ? height : width;
+        int length = rows ? width : height;
+        int[][] clues = new int[lines][];
+        for (int i = 0; i < lines; i++) {
+            java.util.List<Integer> groups = new java.util.ArrayList<>();
+            int count = 0;
+            for (int j = 0; j < length; j++) {
+                CellState s = rows ? solution[i][j] : solution[j][i];
+                if (s == CellState.FILLED) {
+                    count++;
+                } else if (count > 0) {
+                    groups.add(count);
+                    count = 0;
+                }
+            }
+            if (count > 0) groups.add(count);
+            clues[i] = groups.stream().mapToInt(Integer::intValue).toArray();
+        }
+        return clues;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,165 @@
+/**
+ * Sondage (failed-literal probing) avant la recherche.
+ * Pour chaque case indéterminée on essaie FILLED puis CROSSED avec propagation :
+ * si un côté aboutit à une contradiction, la case prend l'autre valeur ;
+ * les cases qui prennent la même valeur dans les deux essais sont aussi acquises.
+ */
+class FailedLiteralProber {
+
+    private static final int DEFAULT_MAX_PROBES = 10000;
+
+    private int maxProbes;
+    private SolveBudget budget = SolveBudget.unlimited();
+    private int probes;
+    private int cellsWon;
+
+    FailedLiteralProber() {
+        this(DEFAULT_MAX_PROBES);
+    }
+
+    FailedLiteralProber(int maxProbes) {
+        this.maxProbes = maxProbes;
+    }
+
+    /**
+     * Sonde la grille et y écrit les cases gagnées.
+     * Retourne false si la grille est contradictoire.
+     */
+    boolean probe(Nonogram nonogram) {
+        Propagator propagator = Propagator.fromNonogram(nonogram);
+        if (!propagator.propagate() || !probe(propagator)) {
+            return false;
+        }
+        propagator.writeTo(nonogram);
+        return true;
+    }
+
+    /**
+     * Sonde une grille déjà propagée, par tours successifs tant qu'elle progresse
+     * et que le budget le permet. Retourne false si la grille est contradictoire.
+     */
+    boolean probe(Propagator propagator) {
+        int total = propagator.getCellCount();
+        byte[] filledProbe = new byte[total];
+        int[] stamp = new int[total];
+        int[] common = new int[total];
+        byte[] commonValues = new byte[total];
+        int probeId = 0;
+
+        boolean progress = true;
+        while (progress && probes < maxProbes && !propagator.isComplete()) {
+            progress = false;
+
+            for (int cell : orderCandidates(propagator)) {
+                if (probes >= maxProbes || budget.isCancelled() || budget.isExpired()) break;
+                if (propagator.get(cell) != Propagator.UNKNOWN) continue;
+
+                int before = propagator.getDeterminedCount();
+                int mark = propagator.mark();
+                probeId++;
+
+                // Essai FILLED : on mémorise les valeurs obtenues
+                probes++;
+                boolean filledOk = propagator.assign(cell, Propagator.FILLED) && propagator.propagate();
+                if (filledOk) {
+                    for (int i = mark; i < propagator.getDeterminedCount(); i++) {
+                        int c = propagator.trailAt(i);
+                        filledProbe[c] = propagator.get(c);
+                        stamp[c] = probeId;
+                    }
+                }
+                propagator.undo(mark);
+
+                // Essai CROSSED : on garde les cases d'accord avec l'essai FILLED
+                probes++;
+                boolean crossedOk = propagator.assign(cell, Propagator.CROSSED) && propagator.propagate();
+                int commonCount = 0;
+                if (filledOk && crossedOk) {
+                    for (int i = mark + 1; i < propagator.getDeterminedCount(); i++) {
+                        int c = propagator.trailAt(i);
+                        if (stamp[c] == probeId && filledProbe[c] == propagator.get(c)) {
+                            common[commonCount] = c;
+                            commonValues[commonCount++] = filledProbe[c];
+                        }
+                    }
+                }
+                propagator.undo(mark);
+
+                if (!filledOk && !crossedOk) {
+                    return false;
+                }
+
+                boolean ok = true;
+                if (!filledOk) {
+                    ok = propagator.assign(cell, Propagator.CROSSED) && propagator.propagate();
+                } else if (!crossedOk) {
+                    ok = propagator.assign(cell, Propagator.FILLED) && propagator.propagate();
+                } else {
+                    for (int i = 0; i < commonCount && ok; i++) {
+                        ok = propagator.assign(common[i], commonValues[i]);
+                    }
+                    ok = ok && propagator.propagate();
+                }
+                if (!ok) {
+                    return false;
+                }
+
+                int won = propagator.getDeterminedCount() - before;
+                if (won > 0) {
+                    cellsWon += won;
+                    progress = true;
+                }
+            }
+        }
+        return true;
+    }
+
+    // Cases indéterminées, les plus contraintes d'abord (lignes et colonnes les plus remplies)
+    private int[] orderCandidates(Propagator propagator) {
+        int width = propagator.getWidth();
+        int height = propagator.getHeight();
+        int[] knownInRow = new int[height];
+        int[] knownInCol = new int[width];
+        int unknown = 0;
+
+        for (int r = 0; r < height; r++) {
+            for (int c = 0; c < width; c++) {
+                if (propagator.get(r, c) != Propagator.UNKNOWN) {
+                    knownInRow[r]++;
+                    knownInCol[c]++;
+                } else {
+                    unknown++;
+                }
+            }
+        }
+
+        // Tri par score décroissant (score borné par width + height : tri par comptage)
+        int maxScore = width + height;
+        int[] bucketCount = new int[maxScore + 2];
+        for (int r = 0; r < height; r++) {
+            for (int c = 0; c < width; c++) {
+                if (propagator.get(r, c) == Propagator.UNKNOWN) {
+                    bucketCount[maxScore - (knownInRow[r] + knownInCol[c]) + 1]++;
+                }
+            }
+        }
+        for (int i = 1; i < bucketCount.length; i++) {
+            bucketCount[i] += bucketCount[i - 1];
+        }
+
+        int[] order = new int[unknown];
+        for (int r = 0; r < height; r++) {
+            for (int c = 0; c < width; c++) {
+                if (propagator.get(r, c) == Propagator.UNKNOWN) {
+                    order[bucketCount[maxScore - (knownInRow[r] + knownInCol[c])]++] = r * width + c;
+                }
+            }
+        }
+        return order;
+    }
+
+    void setMaxProbes(int maxProbes) { this.maxProbes = maxProbes; }
+    void setBudget(SolveBudget budget) { this.budget = budget; }
+    int getProbes() { return probes; }
+    int getCellsWon() { return cellsWon; }
+}
\ No newline at end of file
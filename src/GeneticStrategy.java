@@ -0,0 +1,544 @@
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Algorithme génétique sur les placements des rangées. Un individu est un n-uplet d'indices
+ * de placement, un par rangée : toutes les rangées sont donc toujours respectées, et la
+ * fitness compte les colonnes violées (longueurs de blocs lues bit à bit dans un masque par
+ * colonne). Croisement à une coupure entre deux rangées, mutation par tirage d'un nouveau
+ * placement pour une rangée. La population tient dans des int[] alloués une fois ; chaque
+ * génération est reproduite et évaluée par des travailleurs permanents synchronisés par
+ * barrière, sans allocation par génération.
+ * Les cases déduites par propagation sont fixées avant de générer les placements.
+ */
+public class GeneticStrategy implements SolverStrategy {
+
+    private static final long MAX_TIME_MS = 120000;
+    private static final int DEFAULT_POPULATION = 200;
+    private static final int TOURNAMENT = 3;
+    private static final double CROSSOVER_RATE = 0.9;
+    // Générations sans progrès avant de renouveler la population (hors élite)
+    private static final int STAGNATION_GENERATIONS = 300;
+    // Au-delà, l'énumération des placements des rangées coûterait trop de mémoire
+    private static final long MAX_PLACEMENTS = 4_000_000;
+
+    private final Random random;
+    private SolverStatistics stats;
+    private Nonogram nonogram;
+
+    private int populationSize = DEFAULT_POPULATION;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    private int width;
+    private int height;
+    private int colWords;
+    private LinePlacements[] rows;
+    private int[] variableRows;
+    private int[][] colClues;
+    private int[] colSum;
+
+    // Population courante et suivante, à plat : l'individu i occupe [i*height, (i+1)*height)
+    private int[] genes;
+    private int[] nextGenes;
+    private int[] fitness;
+    private int[] nextFitness;
+    private int[] violated;
+    private int[] nextViolated;
+    private volatile boolean randomize;
+    private volatile boolean finished;
+
+    private long generations;
+    private int renewals;
+    private int bestViolated;
+
+    private boolean stepByStepMode = false;
+    private Queue<CellChange> changeQueue;
+
+    private static class CellChange {
+        int row, col;
+        CellState state;
+        CellChange(int r, int c, CellState s) {
+            row = r; col = c; state = s;
+        }
+    }
+
+    public GeneticStrategy() {
+        this(new Random());
+    }
+
+    public GeneticStrategy(Random random) {
+        this.random = random;
+        this.stats = new SolverStatistics();
+        this.changeQueue = new LinkedList<>();
+    }
+
+    @Override
+    public String getName() {
+        return "Algorithme génétique (placements)";
+    }
+
+    @Override
+    public SolverStatistics getStatistics() {
+        return stats;
+    }
+
+    @Override
+    public void resetStatistics() {
+        this.stats = new SolverStatistics();
+        this.changeQueue.clear();
+        this.generations = 0;
+        this.renewals = 0;
+    }
+
+    @Override
+    public void setStepByStepMode(boolean enabled) {
+        this.stepByStepMode = enabled;
+        resetStatistics();
+    }
+
+    public void setPopulationSize(int populationSize) {
+        this.populationSize = Math.max(2, populationSize);
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    public long getGenerations() { return generations; }
+    public int getRenewals() { return renewals; }
+    public int getBestViolatedColumns() { return bestViolated; }
+
+    @Override
+    public boolean solve(Nonogram nonogram) {
+        return solve(nonogram, SolveBudget.ofTimeout(MAX_TIME_MS));
+    }
+
+    @Override
+    public boolean solve(Nonogram nonogram, SolveBudget budget) {
+        this.nonogram = nonogram;
+        if (!stepByStepMode) {
+            resetStatistics();
+        }
+        long startTime = System.currentTimeMillis();
+        width = nonogram.getWidth();
+        height = nonogram.getHeight();
+
+        Propagator root = Propagator.fromNonogram(nonogram);
+        root.enqueueAll();
+        boolean consistent = root.propagate();
+        int deduced = root.getDeterminedCount();
+        String error = null;
+        boolean found = false;
+        bestViolated = width;
+
+        if (!consistent) {
+            error = "Contradiction détectée";
+        } else if (root.isComplete()) {
+            root.writeTo(nonogram);
+            found = true;
+            bestViolated = 0;
+        } else if (!prepare(root)) {
+            root.writeTo(nonogram);
+            error = "Trop de placements de rangées pour la population";
+        } else {
+            found = evolve(budget);
+            if (!found) {
+                error = bestViolated + " colonnes violées (" + budget.stopReason(generations) + ")";
+            }
+            // Meilleur individu, solution ou non : solveur « à tout moment »
+            writeIndividual(genes, 0, nonogram);
+        }
+
+        boolean solved = found && nonogram.isSolved();
+        if (found && !solved) {
+            error = "Grille incompatible avec les indices";
+        }
+        stats.setExecutionTimeMs(System.currentTimeMillis() - startTime);
+        stats.setSolved(solved);
+        stats.setTotalSteps((int) Math.min(Integer.MAX_VALUE, generations));
+        stats.setBacktrackCount(renewals);
+        stats.setCellsSolvedByDeduction(deduced);
+        stats.setCellsSolvedByGuessing(width * height - deduced);
+        stats.setCompletionPercentage(100.0 * (width - bestViolated) / width);
+        if (error != null) {
+            stats.setErrorMessage(error);
+        }
+        System.out.println("Génétique : " + generations + " générations de " + populationSize + ", "
+                + renewals + " renouvellements, meilleur individu à " + bestViolated + " colonnes violées");
+        return solved;
+    }
+
+    private boolean prepare(Propagator root) {
+        long total = 0;
+        for (int r = 0; r < height; r++) {
+            total += root.countPlacements(r);
+            if (total > MAX_PLACEMENTS) {
+                return false;
+            }
+        }
+        rows = new LinePlacements[height];
+        int variable = 0;
+        CellState[] line = new CellState[width];
+        for (int r = 0; r < height; r++) {
+            for (int c = 0; c < width; c++) {
+                line[c] = Propagator.toCellState(root.get(r, c));
+            }
+            rows[r] = LinePlacements.generate(root.getBlocks(r), width, line);
+            if (rows[r].size() > 1) variable++;
+        }
+        variableRows = new int[variable];
+        variable = 0;
+        for (int r = 0; r < height; r++) {
+            if (rows[r].size() > 1) variableRows[variable++] = r;
+        }
+
+        colWords = LinePlacements.wordsFor(height);
+        colClues = new int[width][];
+        colSum = new int[width];
+        for (int c = 0; c < width; c++) {
+            colClues[c] = root.getBlocks(height + c);
+            for (int block : colClues[c]) {
+                colSum[c] += block;
+            }
+        }
+
+        genes = new int[populationSize * height];
+        nextGenes = new int[populationSize * height];
+        fitness = new int[populationSize];
+        nextFitness = new int[populationSize];
+        violated = new int[populationSize];
+        nextViolated = new int[populationSize];
+        return true;
+    }
+
+    /**
+     * Boucle des générations. Le thread appelant traite la première tranche de la population,
+     * les autres travailleurs les suivantes ; deux barrières encadrent chaque génération.
+     * L'individu 0 de chaque génération est le meilleur de la précédente (élitisme).
+     */
+    private boolean evolve(SolveBudget budget) {
+        int workers = Math.min(parallelism, populationSize - 1);
+        CyclicBarrier start = new CyclicBarrier(workers);
+        CyclicBarrier end = new CyclicBarrier(workers);
+        Worker[] chunks = new Worker[workers];
+        for (int w = 0; w < workers; w++) {
+            int from = 1 + (int) ((long) (populationSize - 1) * w / workers);
+            int to = 1 + (int) ((long) (populationSize - 1) * (w + 1) / workers);
+            chunks[w] = new Worker(from, to, new SplittableRandom(random.nextLong()), start, end);
+        }
+        finished = false;
+        ExecutorService pool = workers > 1 ? Executors.newFixedThreadPool(workers - 1) : null;
+        for (int w = 1; w < workers; w++) {
+            pool.submit(chunks[w]);
+        }
+
+        try {
+            // Génération 0 : tirage uniforme, l'élite est elle aussi tirée au hasard
+            randomize = true;
+            chunks[0].randomizeElite();
+            runGeneration(chunks[0], start, end);
+            randomize = false;
+            promote();
+            int bestFitness = fitness[0];
+            bestViolated = violated[0];
+            long lastImprovement = 0;
+
+            while (bestFitness > 0 && !budget.shouldStop(generations)) {
+                generations++;
+                if (generations - lastImprovement > STAGNATION_GENERATIONS) {
+                    randomize = true;
+                    renewals++;
+                    lastImprovement = generations;
+                }
+                runGeneration(chunks[0], start, end);
+                randomize = false;
+                promote();
+                if (fitness[0] < bestFitness) {
+                    bestFitness = fitness[0];
+                    bestViolated = violated[0];
+                    lastImprovement = generations;
+                }
+            }
+            return bestFitness == 0;
+        } catch (InterruptedException | BrokenBarrierException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            finished = true;
+            start.reset();
+            if (pool != null) {
+                pool.shutdownNow();
+            }
+        }
+    }
+
+    private void runGeneration(Worker self, CyclicBarrier start, CyclicBarrier end)
+            throws InterruptedException, BrokenBarrierException {
+        // Élitisme : le meilleur individu (rangé en 0) passe tel quel
+        System.arraycopy(genes, 0, nextGenes, 0, height);
+        nextFitness[0] = fitness[0];
+        nextViolated[0] = violated[0];
+        start.await();
+        self.breed();
+        end.await();
+    }
+
+    // Échange les populations et range le meilleur individu en position 0
+    private void promote() {
+        int[] swap = genes; genes = nextGenes; nextGenes = swap;
+        swap = fitness; fitness = nextFitness; nextFitness = swap;
+        swap = violated; violated = nextViolated; nextViolated = swap;
+        int best = 0;
+        for (int i = 1; i < populationSize; i++) {
+            if (fitness[i] < fitness[best]) best = i;
+        }
+        if (best != 0) {
+            for (int r = 0; r < height; r++) {
+                int a = genes[r];
+                genes[r] = genes[best * height + r];
+                genes[best * height + r] = a;
+            }
+            int f = fitness[0]; fitness[0] = fitness[best]; fitness[best] = f;
+            int v = violated[0]; violated[0] = violated[best]; violated[best] = v;
+        }
+    }
+
+    private class Worker implements Runnable {
+        private final int from;
+        private final int to;
+        private final SplittableRandom rng;
+        private final CyclicBarrier start;
+        private final CyclicBarrier end;
+        private final long[] columns;
+
+        Worker(int from, int to, SplittableRandom rng, CyclicBarrier start, CyclicBarrier end) {
+            this.from = from;
+            this.to = to;
+            this.rng = rng;
+            this.start = start;
+            this.end = end;
+            this.columns = new long[width * colWords];
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    start.await();
+                    if (finished) return;
+                    breed();
+                    end.await();
+                }
+            } catch (InterruptedException | BrokenBarrierException e) {
+                // Fin de la recherche
+            }
+        }
+
+        void breed() {
+            for (int i = from; i < to; i++) {
+                int base = i * height;
+                if (randomize) {
+                    for (int r = 0; r < height; r++) {
+                        nextGenes[base + r] = rng.nextInt(rows[r].size());
+                    }
+                } else {
+                    int a = select() * height;
+                    int b = select() * height;
+                    int cut = rng.nextDouble() < CROSSOVER_RATE ? 1 + rng.nextInt(Math.max(1, height - 1)) : height;
+                    System.arraycopy(genes, a, nextGenes, base, cut);
+                    System.arraycopy(genes, b + cut, nextGenes, base + cut, height - cut);
+                    if (variableRows.length > 0) {
+                        int row = variableRows[rng.nextInt(variableRows.length)];
+                        nextGenes[base + row] = rng.nextInt(rows[row].size());
+                    }
+                }
+                evaluate(nextGenes, i);
+            }
+        }
+
+        void randomizeElite() {
+            for (int r = 0; r < height; r++) {
+                genes[r] = rng.nextInt(rows[r].size());
+            }
+            evaluateInto(genes, 0, fitness, violated);
+        }
+
+        private int select() {
+            int best = rng.nextInt(populationSize);
+            for (int t = 1; t < TOURNAMENT; t++) {
+                int other = rng.nextInt(populationSize);
+                if (fitness[other] < fitness[best]) best = other;
+            }
+            return best;
+        }
+
+        private void evaluate(int[] population, int index) {
+            evaluateInto(population, index, nextFitness, nextViolated);
+        }
+
+        // Transpose l'individu en masques de colonnes puis compare les blocs de chaque colonne
+        private void evaluateInto(int[] population, int index, int[] fitnessOut, int[] violatedOut) {
+            java.util.Arrays.fill(columns, 0L);
+            int base = index * height;
+            int words = LinePlacements.wordsFor(width);
+            for (int r = 0; r < height; r++) {
+                int placement = population[base + r];
+                long rowBit = 1L << r;
+                int rowWord = r >>> 6;
+                for (int w = 0; w < words; w++) {
+                    long m = rows[r].maskWord(placement, w);
+                    while (m != 0) {
+                        int c = (w << 6) + Long.numberOfTrailingZeros(m);
+                        columns[c * colWords + rowWord] |= rowBit;
+                        m &= m - 1;
+                    }
+                }
+            }
+            int total = 0;
+            int bad = 0;
+            for (int c = 0; c < width; c++) {
+                int penalty = columnPenalty(c);
+                if (penalty > 0) {
+                    total += penalty;
+                    bad++;
+                }
+            }
+            fitnessOut[index] = total;
+            violatedOut[index] = bad;
+        }
+
+        // 0 si les blocs de la colonne suivent l'indice ; sinon 1 + écart de blocs + écart de cases
+        private int columnPenalty(int col) {
+            int[] clue = colClues[col];
+            int offset = col * colWords;
+            int filled = 0;
+            for (int w = 0; w < colWords; w++) {
+                filled += Long.bitCount(columns[offset + w]);
+            }
+            int runs = 0;
+            boolean matches = true;
+            int pos = nextBit(offset, 0, true);
+            while (pos < height) {
+                int stop = nextBit(offset, pos, false);
+                if (runs >= clue.length || clue[runs] != stop - pos) matches = false;
+                runs++;
+                pos = nextBit(offset, stop, true);
+            }
+            if (matches && runs == clue.length) {
+                return 0;
+            }
+            return 1 + Math.abs(runs - clue.length) + Math.abs(filled - colSum[col]);
+        }
+
+        // Prochaine case remplie (set) ou vide (!set) à partir de pos, height si aucune
+        private int nextBit(int offset, int pos, boolean set) {
+            int w = pos >>> 6;
+            if (w >= colWords) return height;
+            long word = set ? columns[offset + w] : ~columns[offset + w];
+            word &= -1L << pos;
+            while (true) {
+                if (word != 0) {
+                    return Math.min(height, (w << 6) + Long.numberOfTrailingZeros(word));
+                }
+                if (++w >= colWords) return height;
+                word = set ? columns[offset + w] : ~columns[offset + w];
+            }
+        }
+    }
+
+    private void writeIndividual(int[] population, int index, Nonogram target) {
+        CellState[] line = new CellState[width];
+        for (int r = 0; r < height; r++) {
+            rows[r].toLine(population[index * height + r], line, CellState.CROSSED);
+            for (int c = 0; c < width; c++) {
+                target.setCell(r, c, line[c]);
+            }
+        }
+    }
+
+    @Override
+    public boolean executeNextStep(Nonogram nonogram) {
+        this.nonogram = nonogram;
+
+        if (changeQueue.isEmpty() && stats.getTotalSteps() == 0) {
+            Nonogram copy = new Nonogram(nonogram.getWidth(), nonogram.getHeight(),
+                    nonogram.getClues(), nonogram.getSolution());
+            GeneticStrategy solver = new GeneticStrategy(random);
+            solver.setPopulationSize(populationSize);
+            solver.setParallelism(parallelism);
+            boolean solved = solver.solve(copy);
+            System.out.println(solved ? "✅ Copie résolue" : "❌ Échec");
+
+            for (int r = 0; r < nonogram.getHeight(); r++) {
+                for (int c = 0; c < nonogram.getWidth(); c++) {
+                    if (nonogram.getCell(r, c) != copy.getCell(r, c)) {
+                        changeQueue.add(new CellChange(r, c, copy.getCell(r, c)));
+                    }
+                }
+            }
+            if (changeQueue.isEmpty()) {
+                return false;
+            }
+        }
+
+        if (!changeQueue.isEmpty()) {
+            CellChange change = changeQueue.poll();
+            nonogram.setCell(change.row, change.col, change.state);
+            stats.incrementSteps();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean hasNextStep() {
+        return stepByStepMode && nonogram != null && !nonogram.isSolved()
+                && (stats.getTotalSteps() == 0 || !changeQueue.isEmpty());
+    }
+
+    @Override
+    public int getCurrentStep() {
+        return stats.getTotalSteps();
+    }
+
+    // Génétique face à RandomStrategy : java GeneticStrategy [taille] [grilles] [secondes]
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        long seconds = args.length > 2 ? Long.parseLong(args[2]) : 10;
+        Random random = new Random(7);
+
+        int genetic = 0;
+        int randomSolved = 0;
+        for (int i = 0; i < count; i++) {
+            CellState[][] grid = new CellState[size][size];
+            for (int r = 0; r < size; r++) {
+                for (int c = 0; c < size; c++) {
+                    grid[r][c] = random.nextBoolean() ? CellState.FILLED : CellState.EMPTY;
+                }
+            }
+            LineClues clues = new LineClues(ConcurrentPropagator.computeClues(grid, true),
+                    ConcurrentPropagator.computeClues(grid, false));
+            GeneticStrategy strategy = new GeneticStrategy(new Random(i));
+            strategy.solve(new Nonogram(size, size, clues, grid), SolveBudget.ofTimeout(seconds * 1000));
+            if (strategy.getBestViolatedColumns() == 0) {
+                genetic++;
+            }
+            RandomStrategy baseline = new RandomStrategy();
+            if (baseline.solve(new Nonogram(size, size, clues, grid), SolveBudget.ofTimeout(seconds * 1000))) {
+                randomSolved++;
+            }
+            System.out.println(String.format("  grille %d : %d colonnes violées, %d générations, %d ms",
+                    i, strategy.getBestViolatedColumns(), strategy.getGenerations(),
+                    strategy.getStatistics().getExecutionTimeMs()));
+        }
+        System.out.println(size + "×" + size + " : génétique " + genetic + "/" + count
+                + ", aléatoire " + randomSolved + "/" + count);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,133 @@
+import java.util.Random;
+
+/**
+ * Base des heuristiques par case à score incrémental : le score d'une case ne dépend que
+ * de sa rangée et de sa colonne. Entre deux décisions, seules les lignes dont la version
+ * a changé dans le Propagator sont recalculées, puis les cases de ces lignes sont remises
+ * à jour dans un tas indexé ; le choix de la case coûte O(log n). Les égalités vont à la
+ * plus petite clé du tas : l'ordre des cases, ou une permutation aléatoire (setTieBreak).
+ * Un autre Propagator (copie d'une tâche parallèle) déclenche un recalcul complet.
+ */
+abstract class IncrementalCellHeuristic implements BranchingHeuristic {
+
+    private Propagator current;
+    private int[] seenVersion;
+    private boolean[] dirty;
+    private int[] dirtyLines;
+    private IndexedHeap heap;
+    private Random tieBreak;
+    private int[] key;
+    private int[] cellOf;
+    private boolean[] allowed;
+
+    /** Prépare les données par ligne pour ce Propagator, avant le recalcul complet. */
+    protected void init(Propagator propagator) {
+    }
+
+    /** Recalcule les données de la ligne à partir de l'état du Propagator. */
+    protected abstract void refreshLine(Propagator propagator, int line);
+
+    /** Priorité de la case inconnue (plus petite = choisie d'abord), ou NaN pour l'écarter. */
+    protected abstract double priority(Propagator propagator, int row, int col);
+
+    @Override
+    public void setTieBreak(Random random) {
+        this.tieBreak = random;
+        this.current = null;
+    }
+
+    @Override
+    public void restrictTo(boolean[] cells) {
+        this.allowed = cells;
+        this.current = null;
+    }
+
+    @Override
+    public int selectCell(Propagator propagator) {
+        if (propagator != current) {
+            rebuild(propagator);
+        } else {
+            update(propagator);
+        }
+        int top = heap.peek();
+        return top < 0 ? -1 : cellOf[top];
+    }
+
+    private void rebuild(Propagator propagator) {
+        int lines = propagator.getLineCount();
+        if (heap == null || seenVersion.length != lines || key.length != propagator.getCellCount()) {
+            heap = new IndexedHeap(propagator.getCellCount());
+            seenVersion = new int[lines];
+            dirty = new boolean[lines];
+            dirtyLines = new int[lines];
+            key = new int[propagator.getCellCount()];
+            cellOf = new int[propagator.getCellCount()];
+        }
+        for (int cell = 0; cell < cellOf.length; cell++) {
+            cellOf[cell] = cell;
+        }
+        if (tieBreak != null) {
+            for (int i = cellOf.length - 1; i > 0; i--) {
+                int j = tieBreak.nextInt(i + 1);
+                int swap = cellOf[i];
+                cellOf[i] = cellOf[j];
+                cellOf[j] = swap;
+            }
+        }
+        for (int k = 0; k < cellOf.length; k++) {
+            key[cellOf[k]] = k;
+        }
+        current = propagator;
+        heap.clear();
+        init(propagator);
+        for (int line = 0; line < lines; line++) {
+            seenVersion[line] = propagator.getLineVersion(line);
+            refreshLine(propagator, line);
+        }
+        for (int cell = 0; cell < propagator.getCellCount(); cell++) {
+            rescore(propagator, cell);
+        }
+    }
+
+    private void update(Propagator propagator) {
+        int count = 0;
+        for (int line = 0; line < propagator.getLineCount(); line++) {
+            int version = propagator.getLineVersion(line);
+            if (version != seenVersion[line]) {
+                seenVersion[line] = version;
+                dirty[line] = true;
+                dirtyLines[count++] = line;
+                refreshLine(propagator, line);
+            }
+        }
+        // Les cases des lignes modifiées : leur propre score, ou celui de la ligne croisée, a changé
+        for (int d = 0; d < count; d++) {
+            int line = dirtyLines[d];
+            for (int i = 0; i < propagator.lineLength(line); i++) {
+                int cell = propagator.lineCell(line, i);
+                // Une case au croisement de deux lignes modifiées n'est traitée qu'une fois
+                int other = line < propagator.getHeight()
+                        ? propagator.getHeight() + i : i;
+                if (line < propagator.getHeight() && dirty[other]) continue;
+                rescore(propagator, cell);
+            }
+        }
+        for (int d = 0; d < count; d++) {
+            dirty[dirtyLines[d]] = false;
+        }
+    }
+
+    private void rescore(Propagator propagator, int cell) {
+        if (propagator.get(cell) != Propagator.UNKNOWN || (allowed != null && !allowed[cell])) {
+            heap.remove(key[cell]);
+            return;
+        }
+        int width = propagator.getWidth();
+        double score = priority(propagator, cell / width, cell % width);
+        if (Double.isNaN(score)) {
+            heap.remove(key[cell]);
+        } else {
+            heap.set(key[cell], score);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,95 @@
+import java.util.Arrays;
+
+/**
+ * Tas binaire indexé (minimum en tête) sur des clés 0..capacity-1.
+ * Chaque clé a au plus une entrée : set() insère ou change la priorité, remove() la retire,
+ * en O(log n). À priorité égale, la plus petite clé passe devant.
+ */
+class IndexedHeap {
+
+    private final int[] heap;
+    private final int[] slot;
+    private final double[] priority;
+    private int size;
+
+    IndexedHeap(int capacity) {
+        this.heap = new int[capacity];
+        this.slot = new int[capacity];
+        this.priority = new double[capacity];
+        Arrays.fill(slot, -1);
+    }
+
+    void set(int key, double value) {
+        int i = slot[key];
+        if (i < 0) {
+            priority[key] = value;
+            heap[size] = key;
+            slot[key] = size;
+            siftUp(size++);
+            return;
+        }
+        if (priority[key] == value) return;
+        priority[key] = value;
+        siftUp(i);
+        siftDown(slot[key]);
+    }
+
+    void remove(int key) {
+        int i = slot[key];
+        if (i < 0) return;
+        size--;
+        slot[key] = -1;
+        if (i == size) return;
+        int last = heap[size];
+        heap[i] = last;
+        slot[last] = i;
+        siftUp(i);
+        siftDown(slot[last]);
+    }
+
+    /** Clé de plus petite priorité, ou -1 si le tas est vide. */
+    int peek() {
+        return size == 0 ? -1 : heap[0];
+    }
+
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            slot[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    int size() { return size; }
+
+    private boolean before(int a, int b) {
+        return priority[a] < priority[b] || (priority[a] == priority[b] && a < b);
+    }
+
+    private void siftUp(int i) {
+        int key = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!before(key, heap[parent])) break;
+            heap[i] = heap[parent];
+            slot[heap[i]] = i;
+            i = parent;
+        }
+        heap[i] = key;
+        slot[key] = i;
+    }
+
+    private void siftDown(int i) {
+        int key = heap[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && before(heap[child + 1], heap[child])) child++;
+            if (!before(heap[child], key)) break;
+            heap[i] = heap[child];
+            slot[heap[i]] = i;
+            i = child;
+        }
+        heap[i] = key;
+        slot[key] = i;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,347 @@
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.Random;
+
+/**
+ * Recherche à divergences limitées (LDS) : les chemins sont explorés par nombre croissant
+ * d'écarts à la valeur conseillée par l'heuristique MRV. La passe k ne parcourt que les
+ * chemins à exactement k écarts ; un sous-arbre est coupé dès qu'il reste moins de cases
+ * inconnues que d'écarts à faire. Une valeur réfutée par la seule propagation n'est pas un
+ * écart : l'autre valeur est forcée. Une erreur de l'heuristique près de la racine coûte donc
+ * une passe, au lieu de tout le sous-arbre comme en profondeur d'abord.
+ * Un seul Propagator sert à toute la recherche : chaque branche est défaite par sa marque.
+ */
+public class LdsStrategy implements SolverStrategy {
+
+    private static final long MAX_TIME_MS = 120000;
+    private static final int DEFAULT_TRANSPOSITION_MB = 16;
+
+    private SolverStatistics stats;
+    private Nonogram nonogram;
+    private SolveBudget budget = SolveBudget.unlimited();
+
+    private int maxDiscrepancies = Integer.MAX_VALUE;
+    private int passes;
+    private int solutionDiscrepancies = -1;
+    // Vrai si la passe a refusé un écart faute de budget : la passe suivante a du travail
+    private boolean deeper;
+    private boolean aborted;
+    // États dont tous les chemins ont échoué, quelle que soit la passe
+    private TranspositionTable table;
+    private int transpositionTableMb = DEFAULT_TRANSPOSITION_MB;
+    private boolean anytimeMode = false;
+    private AnytimeGrid anytime;
+
+    private boolean stepByStepMode = false;
+    private Queue<CellChange> changeQueue;
+
+    private static class CellChange {
+        int row, col;
+        CellState state;
+        CellChange(int r, int c, CellState s) {
+            row = r; col = c; state = s;
+        }
+    }
+
+    public LdsStrategy() {
+        this.stats = new SolverStatistics();
+        this.changeQueue = new LinkedList<>();
+    }
+
+    @Override
+    public String getName() {
+        return "LDS (divergences limitées)";
+    }
+
+    @Override
+    public SolverStatistics getStatistics() {
+        return stats;
+    }
+
+    @Override
+    public void resetStatistics() {
+        this.stats = new SolverStatistics();
+        this.changeQueue.clear();
+        this.passes = 0;
+        this.solutionDiscrepancies = -1;
+    }
+
+    @Override
+    public void setStepByStepMode(boolean enabled) {
+        this.stepByStepMode = enabled;
+        resetStatistics();
+    }
+
+    // Nombre maximal d'écarts à l'heuristique (au-delà, la recherche abandonne)
+    public void setMaxDiscrepancies(int maxDiscrepancies) {
+        this.maxDiscrepancies = maxDiscrepancies;
+    }
+
+    // Taille de la table des états morts, en Mo (0 = désactivée)
+    public void setTranspositionTableMb(int megabytes) {
+        this.transpositionTableMb = megabytes;
+    }
+
+    @Override
+    public void setAnytimeMode(boolean enabled) {
+        this.anytimeMode = enabled;
+    }
+
+    public int getPasses() { return passes; }
+    public int getSolutionDiscrepancies() { return solutionDiscrepancies; }
+
+    @Override
+    public boolean solve(Nonogram nonogram) {
+        return solve(nonogram, SolveBudget.ofTimeout(MAX_TIME_MS));
+    }
+
+    @Override
+    public boolean solve(Nonogram nonogram, SolveBudget budget) {
+        this.nonogram = nonogram;
+        this.budget = budget;
+        if (!stepByStepMode) {
+            resetStatistics();
+        }
+
+        long startTime = System.currentTimeMillis();
+        int known = countDeterminedCells();
+
+        Propagator propagator = Propagator.fromNonogram(nonogram);
+        propagator.enqueueAll();
+        boolean consistent = propagator.propagate();
+        boolean found = false;
+        aborted = false;
+        anytime = anytimeMode ? new AnytimeGrid(nonogram.getWidth(), nonogram.getHeight()) : null;
+        if (consistent) {
+            BranchingHeuristic heuristic = new AIHeuristicStrategy.MrvHeuristic();
+            table = transpositionTableMb > 0 ? new TranspositionTable(transpositionTableMb) : null;
+            for (int k = 0; k <= maxDiscrepancies && !found && !aborted; k++) {
+                passes++;
+                deeper = false;
+                found = probe(propagator, heuristic, k);
+                if (found) {
+                    solutionDiscrepancies = k;
+                } else if (!deeper) {
+                    break;
+                }
+            }
+        }
+        if (table != null) {
+            stats.setTranspositionStats(table.getLookups(), table.getHits());
+            table = null;
+        }
+        if (found) {
+            propagator.writeTo(nonogram);
+        } else if (anytime != null) {
+            anytime.writeTo(nonogram);
+        }
+        anytime = null;
+
+        boolean solved = found && nonogram.isSolved();
+        int width = nonogram.getWidth();
+        int height = nonogram.getHeight();
+        stats.setExecutionTimeMs(System.currentTimeMillis() - startTime);
+        stats.setSolved(solved);
+        stats.setCellsSolvedByDeduction(known);
+        int determinedCells = countDeterminedCells();
+        stats.setCellsSolvedByGuessing(determinedCells - known);
+        stats.setCompletionPercentage((determinedCells * 100.0) / (width * height));
+
+        if (!solved) {
+            if (found) {
+                stats.setErrorMessage("Grille incompatible avec les indices");
+            } else if (aborted) {
+                stats.setErrorMessage(budget.stopReason(stats.getTotalSteps()));
+            } else if (deeper) {
+                stats.setErrorMessage("Limite de divergences atteinte");
+            } else {
+                stats.setErrorMessage("Contradiction détectée");
+            }
+        }
+        return solved;
+    }
+
+    // Chemins du sous-arbre qui s'écartent exactement `discrepancies` fois de l'heuristique
+    private boolean probe(Propagator propagator, BranchingHeuristic heuristic, int discrepancies) {
+        stats.incrementSteps();
+        if (budget.shouldStop(stats.getTotalSteps())) {
+            aborted = true;
+            return false;
+        }
+        if (!propagator.propagate()) {
+            stats.incrementBacktracks();
+            return false;
+        }
+        if (anytime != null) {
+            anytime.offer(propagator);
+        }
+        if (table != null && !propagator.isComplete() && table.isDead(propagator.getHash())) {
+            stats.incrementBacktracks();
+            return false;
+        }
+        int cell = propagator.isComplete() ? -1 : heuristic.selectCell(propagator);
+        if (cell < 0) {
+            // Une feuille avec moins d'écarts a déjà été vue lors d'une passe précédente
+            return discrepancies == 0 && propagator.isComplete();
+        }
+        int unknown = propagator.getCellCount() - propagator.getDeterminedCount();
+        if (discrepancies > unknown) {
+            return false;
+        }
+
+        // Sans écart refusé dans le sous-arbre, les passes ont couvert tous ses chemins :
+        // l'état est mort pour les passes suivantes
+        boolean outer = deeper;
+        deeper = false;
+        long hash = propagator.getHash();
+        boolean found = branch(propagator, heuristic, discrepancies, cell);
+        if (!found && !deeper && !aborted && table != null) {
+            table.storeDead(hash, unknown);
+        }
+        deeper |= outer;
+        return found;
+    }
+
+    private boolean branch(Propagator propagator, BranchingHeuristic heuristic, int discrepancies, int cell) {
+        byte first = heuristic.firstValue(propagator, cell);
+        byte second = first == Propagator.FILLED ? Propagator.CROSSED : Propagator.FILLED;
+        int mark = propagator.mark();
+        propagator.assign(cell, first);
+        // Valeur conseillée réfutée par la seule propagation : l'autre est forcée et ne compte pas
+        if (!propagator.propagate()) {
+            stats.incrementSteps();
+            stats.incrementBacktracks();
+            propagator.undo(mark);
+            propagator.assign(cell, second);
+            if (probe(propagator, heuristic, discrepancies)) {
+                return true;
+            }
+            propagator.undo(mark);
+            return false;
+        }
+        if (probe(propagator, heuristic, discrepancies)) {
+            return true;
+        }
+        propagator.undo(mark);
+        if (aborted) {
+            return false;
+        }
+        if (discrepancies == 0) {
+            deeper = true;
+            return false;
+        }
+        propagator.assign(cell, second);
+        if (probe(propagator, heuristic, discrepancies - 1)) {
+            return true;
+        }
+        propagator.undo(mark);
+        return false;
+    }
+    @Override
+    public boolean executeNextStep(Nonogram nonogram) {
+        this.nonogram = nonogram;
+
+        if (changeQueue.isEmpty() && stats.getTotalSteps() == 0) {
+            Nonogram copy = new Nonogram(nonogram.getWidth(), nonogram.getHeight(),
+                    nonogram.getClues(), nonogram.getSolution());
+            for (int r = 0; r < nonogram.getHeight(); r++) {
+                for (int c = 0; c < nonogram.getWidth(); c++) {
+                    copy.setCell(r, c, nonogram.getCell(r, c));
+                }
+            }
+
+            LdsStrategy solver = new LdsStrategy();
+            solver.setMaxDiscrepancies(maxDiscrepancies);
+            boolean solved = solver.solve(copy);
+            System.out.println(solved ? "✅ Copie résolue" : "❌ Échec");
+
+            for (int r = 0; r < nonogram.getHeight(); r++) {
+                for (int c = 0; c < nonogram.getWidth(); c++) {
+                    if (nonogram.getCell(r, c) != copy.getCell(r, c)) {
+                        changeQueue.add(new CellChange(r, c, copy.getCell(r, c)));
+                    }
+                }
+            }
+            if (changeQueue.isEmpty()) {
+                return false;
+            }
+        }
+
+        if (!changeQueue.isEmpty()) {
+            CellChange change = changeQueue.poll();
+            nonogram.setCell(change.row, change.col, change.state);
+            stats.incrementSteps();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean hasNextStep() {
+        return stepByStepMode && nonogram != null && !nonogram.isSolved()
+                && (stats.getTotalSteps() == 0 || !changeQueue.isEmpty());
+    }
+
+    @Override
+    public int getCurrentStep() {
+        return stats.getTotalSteps();
+    }
+
+    private int countDeterminedCells() {
+        int count = 0;
+        for (int r = 0; r < nonogram.getHeight(); r++) {
+            for (int c = 0; c < nonogram.getWidth(); c++) {
+                if (nonogram.getCell(r, c) != CellState.EMPTY) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    // Nœuds LDS contre profondeur d'abord, même heuristique : java LdsStrategy [taille] [grilles]
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        Random random = new Random(7);
+
+        long ldsNodes = 0;
+        long dfsNodes = 0;
+        int ldsSolved = 0;
+        int dfsSolved = 0;
+        for (int i = 0; i < count; i++) {
+            CellState[][] grid = new CellState[size][size];
+            for (int r = 0; r < size; r++) {
+                for (int c = 0; c < size; c++) {
+                    grid[r][c] = random.nextBoolean() ? CellState.FILLED : CellState.EMPTY;
+                }
+            }
+            LineClues clues = new LineClues(ConcurrentPropagator.computeClues(grid, true),
+                    ConcurrentPropagator.computeClues(grid, false));
+            SolveBudget budget = SolveBudget.ofTimeout(MAX_TIME_MS);
+
+            LdsStrategy lds = new LdsStrategy();
+            // Grilles aléatoires : une autre solution que celle tirée compte aussi
+            lds.solve(new Nonogram(size, size, clues, grid), budget);
+            if (lds.getSolutionDiscrepancies() >= 0) {
+                ldsSolved++;
+            }
+            ldsNodes += lds.getStatistics().getTotalSteps();
+
+            SolverStatistics dfs = new SolverStatistics();
+            Propagator root = Propagator.fromNonogram(new Nonogram(size, size, clues, grid));
+            SearchEngine engine = new SearchEngine(root, new AIHeuristicStrategy.MrvHeuristic(), dfs);
+            engine.setBackjumpingEnabled(false);
+            engine.setLimits(budget, Integer.MAX_VALUE);
+            if (engine.run() == SearchEngine.Status.SOLVED) {
+                dfsSolved++;
+            }
+            dfsNodes += dfs.getTotalSteps();
+
+            System.out.println(String.format("  grille %2d : LDS %7d nœuds (%d écarts) | profondeur %7d nœuds",
+                    i, lds.getStatistics().getTotalSteps(), lds.getSolutionDiscrepancies(), dfs.getTotalSteps()));
+        }
+        System.out.println(count + " grilles " + size + "×" + size + " : LDS " + ldsSolved + " résolues, "
+                + ldsNodes + " nœuds | profondeur d'abord " + dfsSolved + " résolues, " + dfsNodes + " nœuds");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,165 @@
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Branchement par ligne : la ligne indéterminée qui a le moins de placements restants
+ * est fixée entière, un placement par branche. Chaque branche remplit toute la ligne et
+ * relance la propagation sur toutes les lignes qui la croisent. Les placements sont
+ * essayés du plus au moins probable d'après les lignes croisées.
+ * Si même la ligne la plus contrainte a trop de placements, on la coupe en deux moitiés
+ * par la case qui partage ses placements au plus près de moitié-moitié.
+ */
+class LineBranchingHeuristic implements BranchingHeuristic {
+
+    static final int MAX_LINE_BRANCHES = 64;
+
+    private final LinePlacementCache cache;
+    private Random random;
+    private boolean[] allowed;
+    private long chosenCount;
+    // Ordre de parcours des lignes : à nombre de placements égal, la première gagne
+    private int[] lineOrder;
+    private double chosenProbability;
+
+    LineBranchingHeuristic() {
+        this(null);
+    }
+
+    // Avec un cache, les placements sont repris des états déjà vus de la ligne
+    LineBranchingHeuristic(LinePlacementCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public void setTieBreak(Random random) {
+        lineOrder = null;
+        this.random = random;
+    }
+
+    @Override
+    public void restrictTo(boolean[] cells) {
+        this.allowed = cells;
+    }
+
+    @Override
+    public int selectLine(Propagator propagator) {
+        int line = mostConstrainedLine(propagator);
+        return line >= 0 && chosenCount <= MAX_LINE_BRANCHES ? line : -1;
+    }
+
+    @Override
+    public LinePlacements linePlacements(Propagator propagator, int line) {
+        LinePlacements placements = cache == null
+                ? BranchingHeuristic.super.linePlacements(propagator, line)
+                : cache.get(line, propagator.lineState(line));
+
+        // Log-vraisemblance de chaque placement selon les probabilités des lignes croisées
+        int length = propagator.lineLength(line);
+        double[] logFilled = new double[length];
+        double[] logCrossed = new double[length];
+        for (int i = 0; i < length; i++) {
+            if (propagator.get(propagator.lineCell(line, i)) == Propagator.UNKNOWN) {
+                double p = crossingProbability(propagator, line, i);
+                logFilled[i] = Math.log(Math.max(p, 1e-9));
+                logCrossed[i] = Math.log(Math.max(1 - p, 1e-9));
+            }
+        }
+        double[] score = new double[placements.size()];
+        Integer[] order = new Integer[placements.size()];
+        for (int p = 0; p < order.length; p++) {
+            order[p] = p;
+            for (int i = 0; i < length; i++) {
+                score[p] += placements.isFilled(p, i) ? logFilled[i] : logCrossed[i];
+            }
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(score[b], score[a]));
+        return placements.reorder(Arrays.stream(order).mapToInt(Integer::intValue).toArray());
+    }
+
+    // Repli par moitiés : la case de la ligne la plus contrainte la plus proche d'un partage égal
+    @Override
+    public int selectCell(Propagator propagator) {
+        int line = mostConstrainedLine(propagator);
+        if (line < 0) {
+            return -1;
+        }
+        int best = -1;
+        double bestGap = Double.MAX_VALUE;
+        for (int i = 0; i < propagator.lineLength(line); i++) {
+            int cell = propagator.lineCell(line, i);
+            if (propagator.get(cell) != Propagator.UNKNOWN) {
+                continue;
+            }
+            double share = (double) propagator.countPlacements(line, i, Propagator.FILLED) / chosenCount;
+            if (Math.abs(share - 0.5) < bestGap) {
+                bestGap = Math.abs(share - 0.5);
+                best = cell;
+                chosenProbability = crossingProbability(propagator, line, i);
+            }
+        }
+        return best;
+    }
+
+    // Moitié essayée en premier : celle que préfère la ligne croisée
+    @Override
+    public byte firstValue(Propagator propagator, int cell) {
+        return chosenProbability >= 0.5 ? Propagator.FILLED : Propagator.CROSSED;
+    }
+
+    // Part des placements de la ligne croisée qui remplissent la case i de la ligne
+    private static double crossingProbability(Propagator propagator, int line, int i) {
+        int height = propagator.getHeight();
+        int crossing = line < height ? height + i : i;
+        int index = line < height ? line : line - height;
+        long total = propagator.countPlacements(crossing);
+        if (total == 0) {
+            return 0.5;
+        }
+        return (double) propagator.countPlacements(crossing, index, Propagator.FILLED) / total;
+    }
+
+    private int mostConstrainedLine(Propagator propagator) {
+        int best = -1;
+        long bestCount = Long.MAX_VALUE;
+        if (lineOrder == null || lineOrder.length != propagator.getLineCount()) {
+            lineOrder = shuffledLines(propagator.getLineCount());
+        }
+        for (int line : lineOrder) {
+            if (!hasUnknown(propagator, line)) {
+                continue;
+            }
+            long count = propagator.countPlacements(line);
+            if (count < bestCount) {
+                bestCount = count;
+                best = line;
+            }
+        }
+        chosenCount = bestCount;
+        return best;
+    }
+
+    private int[] shuffledLines(int count) {
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        for (int i = count - 1; random != null && i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+        return order;
+    }
+
+    // Une ligne non résolue appartient à une seule composante : une case permise suffit
+    private boolean hasUnknown(Propagator propagator, int line) {
+        for (int i = 0; i < propagator.lineLength(line); i++) {
+            int cell = propagator.lineCell(line, i);
+            if (propagator.get(cell) == Propagator.UNKNOWN && (allowed == null || allowed[cell])) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
\ No newline at end of file
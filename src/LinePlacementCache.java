@@ -0,0 +1,155 @@
+/**
+ * Cache des placements par ligne, indexé par l'état réel de la ligne.
+ * Lignes 0..height-1 = rangées, height..height+width-1 = colonnes.
+ * Chaque ligne garde quelques états récents : une entrée reste valide tant que la
+ * ligne retrouve le même état, même après un retour arrière ailleurs dans la grille.
+ */
+class LinePlacementCache {
+
+    private static final int ENTRIES_PER_LINE = 6;
+
+    private final int[][] clues;
+    private final int[] lengths;
+    private final long[][][] keyFilled;
+    private final long[][][] keyCrossed;
+    private final LinePlacements[][] values;
+    private final int[] sizes;
+
+    private long hits;
+    private long refinements;
+    private long misses;
+
+    LinePlacementCache(LineClues lineClues) {
+        int height = lineClues.getHeight();
+        int width = lineClues.getWidth();
+        int lines = height + width;
+
+        this.clues = new int[lines][];
+        this.lengths = new int[lines];
+        for (int i = 0; i < height; i++) {
+            clues[i] = lineClues.getRowClues()[i];
+            lengths[i] = width;
+        }
+        for (int i = 0; i < width; i++) {
+            clues[height + i] = lineClues.getColClues()[i];
+            lengths[height + i] = height;
+        }
+
+        this.keyFilled = new long[lines][ENTRIES_PER_LINE][];
+        this.keyCrossed = new long[lines][ENTRIES_PER_LINE][];
+        this.values = new LinePlacements[lines][ENTRIES_PER_LINE];
+        this.sizes = new int[lines];
+    }
+
+    LinePlacements get(int line, CellState[] current) {
+        return get(line, LinePlacements.filledMask(current), LinePlacements.crossedMask(current));
+    }
+
+    LinePlacements get(int line, long[] filled, long[] crossed) {
+        int n = sizes[line];
+        int parent = -1;
+        int parentKnown = -1;
+
+        for (int e = 0; e < n; e++) {
+            long[] f = keyFilled[line][e];
+            long[] x = keyCrossed[line][e];
+            if (java.util.Arrays.equals(f, filled) && java.util.Arrays.equals(x, crossed)) {
+                hits++;
+                moveToFront(line, e);
+                return values[line][0];
+            }
+            // Un état moins avancé de la même ligne : on peut repartir de ses placements
+            if (isSubset(f, filled) && isSubset(x, crossed)) {
+                int known = bitCount(f) + bitCount(x);
+                if (known > parentKnown) {
+                    parentKnown = known;
+                    parent = e;
+                }
+            }
+        }
+
+        LinePlacements result;
+        if (parent >= 0) {
+            refinements++;
+            result = values[line][parent].copy();
+            result.filter(filled, crossed);
+        } else {
+            misses++;
+            result = LinePlacements.generate(clues[line], lengths[line], toLine(filled, crossed, lengths[line]));
+        }
+
+        insert(line, filled.clone(), crossed.clone(), result);
+        return result;
+    }
+
+    private void insert(int line, long[] filled, long[] crossed, LinePlacements value) {
+        int n = Math.min(sizes[line] + 1, ENTRIES_PER_LINE);
+        // Décalage : l'entrée la plus ancienne sort si la ligne est pleine
+        for (int e = n - 1; e > 0; e--) {
+            keyFilled[line][e] = keyFilled[line][e - 1];
+            keyCrossed[line][e] = keyCrossed[line][e - 1];
+            values[line][e] = values[line][e - 1];
+        }
+        keyFilled[line][0] = filled;
+        keyCrossed[line][0] = crossed;
+        values[line][0] = value;
+        sizes[line] = n;
+    }
+
+    private void moveToFront(int line, int e) {
+        if (e == 0) return;
+        long[] f = keyFilled[line][e];
+        long[] x = keyCrossed[line][e];
+        LinePlacements v = values[line][e];
+        for (int i = e; i > 0; i--) {
+            keyFilled[line][i] = keyFilled[line][i - 1];
+            keyCrossed[line][i] = keyCrossed[line][i - 1];
+            values[line][i] = values[line][i - 1];
+        }
+        keyFilled[line][0] = f;
+        keyCrossed[line][0] = x;
+        values[line][0] = v;
+    }
+
+    private static boolean isSubset(long[] a, long[] b) {
+        for (int w = 0; w < a.length; w++) {
+            if ((a[w] & ~b[w]) != 0) return false;
+        }
+        return true;
+    }
+
+    private static int bitCount(long[] mask) {
+        int n = 0;
+        for (long m : mask) n += Long.bitCount(m);
+        return n;
+    }
+
+    private static CellState[] toLine(long[] filled, long[] crossed, int length) {
+        CellState[] line = new CellState[length];
+        for (int i = 0; i < length; i++) {
+            long bit = 1L << i;
+            if ((filled[i >>> 6] & bit) != 0) {
+                line[i] = CellState.FILLED;
+            } else if ((crossed[i >>> 6] & bit) != 0) {
+                line[i] = CellState.CROSSED;
+            } else {
+                line[i] = CellState.EMPTY;
+            }
+        }
+        return line;
+    }
+
+    void clear() {
+        java.util.Arrays.fill(sizes, 0);
+        for (LinePlacements[] v : values) {
+            java.util.Arrays.fill(v, null);
+        }
+        hits = 0;
+        refinements = 0;
+        misses = 0;
+    }
+
+    long getHits() { return hits; }
+    long getRefinements() { return refinements; }
+    long getMisses() { return misses; }
+}
\ No newline at end of file
@@ -0,0 +1,256 @@
+import java.util.Arrays;
+
+/**
+ * Stockage compact des placements possibles d'une ligne.
+ * Chaque placement est un masque de cases remplies (bit i = case i FILLED),
+ * rangé à plat dans un long[] : placement p occupe les mots [p*words, (p+1)*words).
+ */
+class LinePlacements {
+
+    private final int length;
+    private final int words;
+    private long[] masks;
+    private int count;
+
+    LinePlacements(int length) {
+        this(length, 16);
+    }
+
+    private LinePlacements(int length, int capacity) {
+        this.length = length;
+        this.words = wordsFor(length);
+        this.masks = new long[Math.max(1, capacity) * words];
+        this.count = 0;
+    }
+
+    static int wordsFor(int length) {
+        return Math.max(1, (length + 63) >>> 6);
+    }
+
+    // Tous les placements de l'indice, sans contrainte
+    static LinePlacements generate(int[] clue, int length) {
+        return generate(clue, length, null);
+    }
+
+    // Placements compatibles avec les cases déjà connues (null = aucune)
+    static LinePlacements generate(int[] clue, int length, CellState[] current) {
+        LinePlacements result = new LinePlacements(length);
+        int[] blocks = normalizeClue(clue);
+
+        int[] minSpace = new int[blocks.length + 1];
+        for (int i = blocks.length - 1; i >= 0; i--) {
+            minSpace[i] = blocks[i] + (i < blocks.length - 1 ? 1 + minSpace[i + 1] : 0);
+        }
+
+        result.generateRecursive(blocks, minSpace, 0, 0, new long[result.words], current);
+        return result;
+    }
+
+    // Un indice {0} ou vide correspond à une ligne sans bloc
+    static int[] normalizeClue(int[] clue) {
+        if (clue == null) {
+            return new int[0];
+        }
+        int n = 0;
+        for (int v : clue) {
+            if (v > 0) n++;
+        }
+        if (n == clue.length) {
+            return clue;
+        }
+        int[] blocks = new int[n];
+        int i = 0;
+        for (int v : clue) {
+            if (v > 0) blocks[i++] = v;
+        }
+        return blocks;
+    }
+
+    private void generateRecursive(int[] blocks, int[] minSpace, int pos, int blockIndex,
+                                   long[] line, CellState[] current) {
+        if (blockIndex >= blocks.length) {
+            // Le reste de la ligne doit pouvoir être vide
+            if (current != null) {
+                for (int i = pos; i < length; i++) {
+                    if (current[i] == CellState.FILLED) return;
+                }
+            }
+            add(line);
+            return;
+        }
+
+        int blockSize = blocks[blockIndex];
+
+        for (int start = pos; start <= length - minSpace[blockIndex]; start++) {
+            // La case juste avant le bloc (espace) ne doit pas être remplie
+            if (current != null && start > pos && current[start - 1] == CellState.FILLED) {
+                break;
+            }
+            if (current != null && !canFill(current, start, start + blockSize)) {
+                continue;
+            }
+
+            int end = start + blockSize;
+            if (current != null && end < length && current[end] == CellState.FILLED) {
+                continue;
+            }
+
+            setRange(line, start, end);
+            int nextPos = blockIndex < blocks.length - 1 ? end + 1 : end;
+            generateRecursive(blocks, minSpace, nextPos, blockIndex + 1, line, current);
+            clearRange(line, start, end);
+        }
+    }
+
+    private static boolean canFill(CellState[] current, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (current[i] == CellState.CROSSED) return false;
+        }
+        return true;
+    }
+
+    private void add(long[] line) {
+        if ((count + 1) * words > masks.length) {
+            masks = Arrays.copyOf(masks, masks.length * 2);
+        }
+        System.arraycopy(line, 0, masks, count * words, words);
+        count++;
+    }
+
+    private static void setRange(long[] line, int from, int to) {
+        for (int i = from; i < to; i++) {
+            line[i >>> 6] |= 1L << i;
+        }
+    }
+
+    private static void clearRange(long[] line, int from, int to) {
+        for (int i = from; i < to; i++) {
+            line[i >>> 6] &= ~(1L << i);
+        }
+    }
+
+    // Masques des cases connues d'une ligne
+    static long[] filledMask(CellState[] line) {
+        return stateMask(line, CellState.FILLED);
+    }
+
+    static long[] crossedMask(CellState[] line) {
+        return stateMask(line, CellState.CROSSED);
+    }
+
+    private static long[] stateMask(CellState[] line, CellState state) {
+        long[] mask = new long[wordsFor(line.length)];
+        for (int i = 0; i < line.length; i++) {
+            if (line[i] == state) {
+                mask[i >>> 6] |= 1L << i;
+            }
+        }
+        return mask;
+    }
+
+    // Filtrage en place : on garde les placements qui respectent les cases connues
+    void filter(long[] filled, long[] crossed) {
+        int kept = 0;
+        for (int p = 0; p < count; p++) {
+            int base = p * words;
+            boolean ok = true;
+            for (int w = 0; w < words && ok; w++) {
+                long m = masks[base + w];
+                ok = (m & filled[w]) == filled[w] && (m & crossed[w]) == 0;
+            }
+            if (ok) {
+                if (kept != p) {
+                    System.arraycopy(masks, base, masks, kept * words, words);
+                }
+                kept++;
+            }
+        }
+        count = kept;
+    }
+
+    void filter(CellState[] current) {
+        filter(filledMask(current), crossedMask(current));
+    }
+
+    // Cases remplies dans tous les placements
+    long[] commonFilled() {
+        long[] result = new long[words];
+        if (count == 0) return result;
+        Arrays.fill(result, -1L);
+        for (int p = 0; p < count; p++) {
+            int base = p * words;
+            for (int w = 0; w < words; w++) {
+                result[w] &= masks[base + w];
+            }
+        }
+        clearTail(result);
+        return result;
+    }
+
+    // Cases remplies dans au moins un placement
+    long[] anyFilled() {
+        long[] result = new long[words];
+        for (int p = 0; p < count; p++) {
+            int base = p * words;
+            for (int w = 0; w < words; w++) {
+                result[w] |= masks[base + w];
+            }
+        }
+        return result;
+    }
+
+    private void clearTail(long[] mask) {
+        int tail = length & 63;
+        if (tail != 0) {
+            mask[words - 1] &= (1L << tail) - 1;
+        }
+    }
+
+    // Mot w du masque du placement index
+    long maskWord(int index, int w) {
+        return masks[index * words + w];
+    }
+
+    boolean isFilled(int index, int pos) {
+        return (masks[index * words + (pos >>> 6)] & (1L << pos)) != 0;
+    }
+
+    int countFilled(int pos) {
+        int w = pos >>> 6;
+        long bit = 1L << pos;
+        int n = 0;
+        for (int p = 0; p < count; p++) {
+            if ((masks[p * words + w] & bit) != 0) n++;
+        }
+        return n;
+    }
+
+    // Recopie le placement dans un tableau, emptyState pour les cases non remplies
+    void toLine(int index, CellState[] out, CellState emptyState) {
+        for (int i = 0; i < length; i++) {
+            out[i] = isFilled(index, i) ? CellState.FILLED : emptyState;
+        }
+    }
+
+    // Copie avec les placements dans l'ordre donné (indices dans ce stockage)
+    LinePlacements reorder(int[] order) {
+        LinePlacements c = new LinePlacements(length, order.length);
+        for (int i = 0; i < order.length; i++) {
+            System.arraycopy(masks, order[i] * words, c.masks, i * words, words);
+        }
+        c.count = order.length;
+        return c;
+    }
+
+    LinePlacements copy() {
+        LinePlacements c = new LinePlacements(length, count);
+        System.arraycopy(masks, 0, c.masks, 0, count * words);
+        c.count = count;
+        return c;
+    }
+
+    int size() { return count; }
+    boolean isEmpty() { return count == 0; }
+    int getLength() { return length; }
+    int getWords() { return words; }
+}
\ No newline at end of file
@@ -0,0 +1,271 @@
+import java.util.Arrays;
+
+/**
+ * Déduction exacte sur une ligne par programmation dynamique, en O(blocs × longueur).
+ * Donne le même résultat que l'intersection de tous les placements compatibles,
+ * sans les énumérer : utilisable sur des lignes de plusieurs centaines de cases.
+ * Une instance garde ses tableaux de travail, elle ne doit pas être partagée entre threads.
+ */
+class LineSolver {
+
+    static final byte UNKNOWN = 0;
+    static final byte FILLED = 1;
+    static final byte CROSSED = 2;
+
+    private boolean[] fwd = new boolean[0];
+    private boolean[] bwd = new boolean[0];
+    private int[] crossedBefore = new int[0];
+    private int[] filledBefore = new int[0];
+    private int[] fillCover = new int[0];
+    private boolean[] canEmpty = new boolean[0];
+    private long[] ways = new long[0];
+    private long[] waysBack = new long[0];
+    private long[] cover = new long[0];
+
+    /**
+     * Déduit la ligne : out reçoit l'état connu de chaque case après déduction.
+     * Retourne false si aucun placement n'est compatible avec les cases connues.
+     */
+    boolean solve(int[] blocks, byte[] line, int n, byte[] out) {
+        int k = blocks.length;
+        ensureCapacity(k, n);
+
+        crossedBefore[0] = 0;
+        filledBefore[0] = 0;
+        for (int i = 0; i < n; i++) {
+            crossedBefore[i + 1] = crossedBefore[i] + (line[i] == CROSSED ? 1 : 0);
+            filledBefore[i + 1] = filledBefore[i] + (line[i] == FILLED ? 1 : 0);
+        }
+
+        int stride = n + 1;
+
+        // fwd[j][i] : les blocs 0..j-1 tiennent dans [0, i)
+        for (int i = 0; i <= n; i++) {
+            fwd[i] = filledBefore[i] == 0;
+        }
+        for (int j = 1; j <= k; j++) {
+            int size = blocks[j - 1];
+            int row = j * stride;
+            for (int i = 0; i <= n; i++) {
+                boolean ok = i > 0 && line[i - 1] != FILLED && fwd[row + i - 1];
+                int s = i - size;
+                if (!ok && s >= 0 && noCross(s, i)) {
+                    if (j == 1) {
+                        ok = fwd[s];
+                    } else {
+                        ok = s >= 1 && line[s - 1] != FILLED && fwd[(j - 1) * stride + s - 1];
+                    }
+                }
+                fwd[row + i] = ok;
+            }
+        }
+
+        if (!fwd[k * stride + n]) {
+            return false;
+        }
+
+        // bwd[j][i] : les blocs j..k-1 tiennent dans [i, n)
+        int last = k * stride;
+        for (int i = 0; i <= n; i++) {
+            bwd[last + i] = filledBefore[n] - filledBefore[i] == 0;
+        }
+        for (int j = k - 1; j >= 0; j--) {
+            int size = blocks[j];
+            int row = j * stride;
+            for (int i = n; i >= 0; i--) {
+                boolean ok = i < n && line[i] != FILLED && bwd[row + i + 1];
+                int e = i + size;
+                if (!ok && e <= n && noCross(i, e)) {
+                    if (j == k - 1) {
+                        ok = bwd[last + e];
+                    } else {
+                        ok = e < n && line[e] != FILLED && bwd[(j + 1) * stride + e + 1];
+                    }
+                }
+                bwd[row + i] = ok;
+            }
+        }
+
+        // Case vide possible : un découpage j blocs à gauche / k-j à droite
+        for (int c = 0; c < n; c++) {
+            boolean empty = false;
+            if (line[c] != FILLED) {
+                for (int j = 0; j <= k && !empty; j++) {
+                    empty = fwd[j * stride + c] && bwd[j * stride + c + 1];
+                }
+            }
+            canEmpty[c] = empty;
+            fillCover[c] = 0;
+        }
+        fillCover[n] = 0;
+
+        // Case remplie possible : couverte par au moins un placement valide d'un bloc
+        for (int j = 0; j < k; j++) {
+            int size = blocks[j];
+            for (int s = 0; s + size <= n; s++) {
+                int e = s + size;
+                if (!noCross(s, e)) continue;
+
+                boolean left = j == 0
+                        ? fwd[s]
+                        : s >= 1 && line[s - 1] != FILLED && fwd[j * stride + s - 1];
+                if (!left) continue;
+
+                boolean right = j == k - 1
+                        ? bwd[last + e]
+                        : e < n && line[e] != FILLED && bwd[(j + 1) * stride + e + 1];
+                if (!right) continue;
+
+                fillCover[s]++;
+                fillCover[e]--;
+            }
+        }
+
+        int cover = 0;
+        for (int c = 0; c < n; c++) {
+            cover += fillCover[c];
+            boolean fill = cover > 0;
+            if (fill && canEmpty[c]) {
+                out[c] = line[c];
+            } else if (fill) {
+                out[c] = FILLED;
+            } else if (canEmpty[c]) {
+                out[c] = CROSSED;
+            } else {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Nombre de placements compatibles avec les cases connues, par le même découpage
+     * préfixe que fwd (saturé à Long.MAX_VALUE).
+     */
+    long count(int[] blocks, byte[] line, int n) {
+        int k = blocks.length;
+        ensureCapacity(k, n);
+
+        crossedBefore[0] = 0;
+        filledBefore[0] = 0;
+        for (int i = 0; i < n; i++) {
+            crossedBefore[i + 1] = crossedBefore[i] + (line[i] == CROSSED ? 1 : 0);
+            filledBefore[i + 1] = filledBefore[i] + (line[i] == FILLED ? 1 : 0);
+        }
+
+        int stride = n + 1;
+        for (int i = 0; i <= n; i++) {
+            ways[i] = filledBefore[i] == 0 ? 1 : 0;
+        }
+        for (int j = 1; j <= k; j++) {
+            int size = blocks[j - 1];
+            int row = j * stride;
+            for (int i = 0; i <= n; i++) {
+                // Case i-1 vide, ou bloc j-1 terminé en i
+                long total = i > 0 && line[i - 1] != FILLED ? ways[row + i - 1] : 0;
+                int s = i - size;
+                if (s >= 0 && noCross(s, i)) {
+                    long before;
+                    if (j == 1) {
+                        before = ways[s];
+                    } else {
+                        before = s >= 1 && line[s - 1] != FILLED ? ways[(j - 1) * stride + s - 1] : 0;
+                    }
+                    total = saturatedAdd(total, before);
+                }
+                ways[row + i] = total;
+            }
+        }
+        return ways[k * stride + n];
+    }
+
+    /**
+     * Comme count(), et filled[i] reçoit le nombre de placements qui remplissent la case i
+     * (passe avant et passe arrière, puis chaque position de bloc compte gauche × droite).
+     */
+    long countFilled(int[] blocks, byte[] line, int n, long[] filled) {
+        long total = count(blocks, line, n);
+        int k = blocks.length;
+        int stride = n + 1;
+        Arrays.fill(filled, 0, n, 0);
+        if (total == 0 || k == 0) {
+            return total;
+        }
+
+        // waysBack[j][i] : placements des blocs j..k-1 dans [i, n)
+        int last = k * stride;
+        for (int i = 0; i <= n; i++) {
+            waysBack[last + i] = filledBefore[n] - filledBefore[i] == 0 ? 1 : 0;
+        }
+        for (int j = k - 1; j >= 0; j--) {
+            int size = blocks[j];
+            int row = j * stride;
+            for (int i = n; i >= 0; i--) {
+                long sum = i < n && line[i] != FILLED ? waysBack[row + i + 1] : 0;
+                int e = i + size;
+                if (e <= n && noCross(i, e)) {
+                    long after;
+                    if (j == k - 1) {
+                        after = waysBack[last + e];
+                    } else {
+                        after = e < n && line[e] != FILLED ? waysBack[(j + 1) * stride + e + 1] : 0;
+                    }
+                    sum = saturatedAdd(sum, after);
+                }
+                waysBack[row + i] = sum;
+            }
+        }
+
+        long[] delta = cover;
+        Arrays.fill(delta, 0, n + 1, 0);
+        for (int j = 0; j < k; j++) {
+            int size = blocks[j];
+            for (int s = 0; s + size <= n; s++) {
+                int e = s + size;
+                if (!noCross(s, e)) continue;
+                long left = j == 0
+                        ? ways[s]
+                        : s >= 1 && line[s - 1] != FILLED ? ways[j * stride + s - 1] : 0;
+                if (left == 0) continue;
+                long right = j == k - 1
+                        ? waysBack[last + e]
+                        : e < n && line[e] != FILLED ? waysBack[(j + 1) * stride + e + 1] : 0;
+                if (right == 0) continue;
+                long both = left > Long.MAX_VALUE / right ? Long.MAX_VALUE : left * right;
+                delta[s] = saturatedAdd(delta[s], both);
+                delta[e] -= both;
+            }
+        }
+        long running = 0;
+        for (int i = 0; i < n; i++) {
+            running += delta[i];
+            filled[i] = running;
+        }
+        return total;
+    }
+
+    private static long saturatedAdd(long a, long b) {
+        return a > Long.MAX_VALUE - b ? Long.MAX_VALUE : a + b;
+    }
+
+    private boolean noCross(int from, int to) {
+        return crossedBefore[to] - crossedBefore[from] == 0;
+    }
+
+    private void ensureCapacity(int k, int n) {
+        int table = (k + 1) * (n + 1);
+        if (fwd.length < table) {
+            fwd = new boolean[table];
+            bwd = new boolean[table];
+            ways = new long[table];
+            waysBack = new long[table];
+        }
+        if (canEmpty.length < n + 1) {
+            crossedBefore = new int[n + 1];
+            filledBefore = new int[n + 1];
+            fillCover = new int[n + 1];
+            canEmpty = new boolean[n + 1];
+            cover = new long[n + 1];
+        }
+    }
+}
\ No newline at end of file
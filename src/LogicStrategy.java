@@ -53,6 +53,11 @@ public class LogicStrategy implements SolverStrategy {
 
 	@Override
 	public boolean solve(Nonogram nonogram) {
+		return solve(nonogram, SolveBudget.unlimited());
+	}
+
+	@Override
+	public boolean solve(Nonogram nonogram, SolveBudget budget) {
 
 		long startTime = System.currentTimeMillis();
 		resetStatistics();
@@ -69,7 +74,7 @@ public class LogicStrategy implements SolverStrategy {
 			changed = performOneIteration(nonogram);
 			iterations++;
 
-		} while (changed && iterations < 50 && !nonogram.isSolved());
+		} while (changed && iterations < 50 && !nonogram.isSolved() && !budget.shouldStop(iterations));
 
 		stats.setExecutionTimeMs(System.currentTimeMillis() - startTime);
 		stats.setSolved(nonogram.isSolved());
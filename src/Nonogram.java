@@ -72,29 +72,10 @@ public class Nonogram {
     }
 
     
+    // Résolue quand chaque ligne et chaque colonne respecte ses indices : une grille
+    // ambiguë a plusieurs solutions, la solution de référence n'est que l'une d'elles
     public boolean isSolved() {
-        if (solution == null) {
-            return checkAllConstraints();
-        }
-        
-       
-        for (int i = 0; i < height; i++) {
-            for (int j = 0; j < width; j++) {
-                CellState gridState = grid[i][j];
-                CellState solutionState = solution[i][j];
-                
-                if (solutionState == CellState.FILLED) {
-                    if (gridState != CellState.FILLED) {
-                        return false;
-                    }
-                } else if (solutionState == CellState.EMPTY) {
-                    if (gridState == CellState.FILLED) {
-                        return false;
-                    }
-                }
-            }
-        }
-        return true;
+        return checkAllConstraints();
     }
 
    
@@ -132,7 +113,8 @@ public class Nonogram {
         }
         if (count > 0) groups.add(count);
         
-        // Comparer avec la contrainte
+        // Comparer avec la contrainte ({0} ou vide : aucun bloc)
+        clue = LinePlacements.normalizeClue(clue);
         if (groups.size() != clue.length) return false;
         
         for (int i = 0; i < groups.size(); i++) {
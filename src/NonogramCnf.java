@@ -0,0 +1,172 @@
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encodage CNF d'un nonogramme.
+ * Variables 1..largeur*hauteur : case (r, c) remplie = r*largeur + c + 1.
+ * Chaque bloc de chaque ligne reçoit une variable par position de départ possible :
+ * exactement un départ par bloc, ordre et séparation entre blocs consécutifs,
+ * un départ remplit ses cases et une case remplie est couverte par un départ.
+ */
+class NonogramCnf {
+
+    private final int width;
+    private final int height;
+    private int numVars;
+    private final List<int[]> clauses = new ArrayList<>();
+
+    private NonogramCnf(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.numVars = width * height;
+    }
+
+    static NonogramCnf encode(Nonogram nonogram) {
+        int width = nonogram.getWidth();
+        int height = nonogram.getHeight();
+        NonogramCnf cnf = new NonogramCnf(width, height);
+        LineClues clues = nonogram.getClues();
+
+        for (int r = 0; r < height; r++) {
+            int[] vars = new int[width];
+            for (int c = 0; c < width; c++) {
+                vars[c] = cnf.cellVar(r, c);
+            }
+            cnf.encodeLine(LinePlacements.normalizeClue(clues.getRowClues()[r]), vars);
+        }
+        for (int c = 0; c < width; c++) {
+            int[] vars = new int[height];
+            for (int r = 0; r < height; r++) {
+                vars[r] = cnf.cellVar(r, c);
+            }
+            cnf.encodeLine(LinePlacements.normalizeClue(clues.getColClues()[c]), vars);
+        }
+
+        // Cases déjà connues
+        for (int r = 0; r < height; r++) {
+            for (int c = 0; c < width; c++) {
+                CellState s = nonogram.getCell(r, c);
+                if (s == CellState.FILLED) {
+                    cnf.clauses.add(new int[] { cnf.cellVar(r, c) });
+                } else if (s == CellState.CROSSED) {
+                    cnf.clauses.add(new int[] { -cnf.cellVar(r, c) });
+                }
+            }
+        }
+        return cnf;
+    }
+
+    private void encodeLine(int[] blocks, int[] cells) {
+        int n = cells.length;
+        int k = blocks.length;
+
+        if (k == 0) {
+            for (int cell : cells) {
+                clauses.add(new int[] { -cell });
+            }
+            return;
+        }
+
+        int[] minStart = new int[k];
+        int[] maxStart = new int[k];
+        int offset = 0;
+        for (int j = 0; j < k; j++) {
+            minStart[j] = offset;
+            offset += blocks[j] + 1;
+        }
+        offset = n;
+        for (int j = k - 1; j >= 0; j--) {
+            offset -= blocks[j];
+            maxStart[j] = offset;
+            offset--;
+        }
+        if (maxStart[0] < minStart[0]) {
+            clauses.add(new int[0]);
+            return;
+        }
+
+        int[][] starts = new int[k][];
+        for (int j = 0; j < k; j++) {
+            starts[j] = new int[maxStart[j] - minStart[j] + 1];
+            for (int i = 0; i < starts[j].length; i++) {
+                starts[j][i] = ++numVars;
+            }
+
+            // Exactement un départ
+            clauses.add(starts[j].clone());
+            for (int a = 0; a < starts[j].length; a++) {
+                for (int b = a + 1; b < starts[j].length; b++) {
+                    clauses.add(new int[] { -starts[j][a], -starts[j][b] });
+                }
+            }
+
+            // Le départ remplit les cases du bloc
+            for (int i = 0; i < starts[j].length; i++) {
+                int s = minStart[j] + i;
+                for (int c = s; c < s + blocks[j]; c++) {
+                    clauses.add(new int[] { -starts[j][i], cells[c] });
+                }
+            }
+        }
+
+        // Le bloc suivant commence après le bloc et une case vide
+        for (int j = 0; j + 1 < k; j++) {
+            for (int i = 0; i < starts[j].length; i++) {
+                int first = Math.max(minStart[j + 1], minStart[j] + i + blocks[j] + 1);
+                int[] clause = new int[1 + Math.max(0, maxStart[j + 1] - first + 1)];
+                clause[0] = -starts[j][i];
+                for (int t = first; t <= maxStart[j + 1]; t++) {
+                    clause[1 + t - first] = starts[j + 1][t - minStart[j + 1]];
+                }
+                clauses.add(clause);
+            }
+        }
+
+        // Une case remplie est couverte par un bloc
+        for (int c = 0; c < n; c++) {
+            List<Integer> covering = new ArrayList<>();
+            covering.add(-cells[c]);
+            for (int j = 0; j < k; j++) {
+                int from = Math.max(minStart[j], c - blocks[j] + 1);
+                int to = Math.min(maxStart[j], c);
+                for (int s = from; s <= to; s++) {
+                    covering.add(starts[j][s - minStart[j]]);
+                }
+            }
+            clauses.add(covering.stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+
+    int cellVar(int row, int col) {
+        return row * width + col + 1;
+    }
+
+    CdclSolver toSolver() {
+        CdclSolver solver = new CdclSolver(numVars);
+        for (int[] clause : clauses) {
+            solver.addClause(clause);
+        }
+        return solver;
+    }
+
+    void writeDimacs(Writer out) throws IOException {
+        out.write("c Nonogramme " + width + "x" + height + "\n");
+        out.write("c case (r, c) remplie : variable r*" + width + " + c + 1 (1.." + (width * height) + ")\n");
+        out.write("p cnf " + numVars + " " + clauses.size() + "\n");
+        StringBuilder line = new StringBuilder();
+        for (int[] clause : clauses) {
+            line.setLength(0);
+            for (int lit : clause) {
+                line.append(lit).append(' ');
+            }
+            line.append("0\n");
+            out.write(line.toString());
+        }
+        out.flush();
+    }
+
+    int getNumVars() { return numVars; }
+    int getClauseCount() { return clauses.size(); }
+}
\ No newline at end of file
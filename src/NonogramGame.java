@@ -20,7 +20,9 @@ public class NonogramGame extends JFrame {
     private boolean isVisualizing = false;
     private int visualizationSpeed = 300;
    
-    private final int[] AVAILABLE_SIZES = {3, 4, 5};
+    private final int[] AVAILABLE_SIZES = {5, 8, 10, 12};
+    // Au-delà, l'unicité n'est pas prouvée à temps et la grille est refusée
+    private static final long UNIQUENESS_TIMEOUT_MS = 1000;
 
     // Couleurs
     private final Color BACKGROUND_COLOR = new Color(18, 18, 18);
@@ -53,7 +55,7 @@ public class NonogramGame extends JFrame {
             int[][] colClues = calculateColClues(solution);
             LineClues clues = new LineClues(rowClues, colClues);
            
-            if (PuzzleValidator.hasUniqueSolution(clues, currentSize, currentSize)) {
+            if (PuzzleValidator.hasUniqueSolution(clues, currentSize, currentSize, SolveBudget.ofTimeout(UNIQUENESS_TIMEOUT_MS))) {
                 this.nonogram = new Nonogram(currentSize, currentSize, clues, solution);
                 System.out.println("✅ Puzzle " + currentSize + "×" + currentSize + " généré");
                 return;
@@ -286,7 +288,7 @@ public class NonogramGame extends JFrame {
 
     private JButton createGridButton(int row, int col) {
         JButton button = new JButton();
-        int buttonSize = currentSize <= 5 ? 45 : currentSize <= 7 ? 40 : 35;
+        int buttonSize = currentSize <= 5 ? 45 : currentSize <= 7 ? 40 : currentSize <= 10 ? 35 : 30;
         button.setPreferredSize(new Dimension(buttonSize, buttonSize));
         button.setBackground(new Color(40, 40, 40));
         button.setFont(new Font("Arial", Font.BOLD, 16));
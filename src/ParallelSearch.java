@@ -0,0 +1,221 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Recherche parallèle par vol de tâches (ForkJoinPool).
+ * Chaque décision près de la racine crée une sous-tâche par branche (deux valeurs pour une
+ * case, un placement pour une ligne) sur des copies indépendantes du Propagator ; les threads
+ * inoccupés volent les branches ouvertes. Sous le seuil de granularité (peu de cases
+ * inconnues ou profondeur atteinte), le sous-arbre est exploré séquentiellement par un
+ * SearchEngine. La première solution annule les autres tâches ; l'échéance, la limite de
+ * nœuds et la limite de backtracks sont vérifiées à chaque nœud de découpage.
+ */
+class ParallelSearch {
+
+    private static final int DEFAULT_SEQUENTIAL_CUTOFF = 48;
+    private static final int DEFAULT_MAX_SPLIT_DEPTH = 20;
+    private static final int NODES_PER_CHECK = 64;
+
+    private final int parallelism;
+    // Une heuristique par thread : celles qui gardent un cache ne sont pas partageables
+    private final ThreadLocal<BranchingHeuristic> heuristic;
+
+    private int sequentialCutoff = DEFAULT_SEQUENTIAL_CUTOFF;
+    private int maxSplitDepth = DEFAULT_MAX_SPLIT_DEPTH;
+    private SolveBudget budget = SolveBudget.unlimited();
+    private int maxBacktracks = Integer.MAX_VALUE;
+    private AnytimeGrid anytime;
+
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    private final AtomicBoolean aborted = new AtomicBoolean();
+    private final AtomicLong solutions = new AtomicLong();
+    private final AtomicLong nodes = new AtomicLong();
+    private final AtomicLong backtracks = new AtomicLong();
+    private final AtomicLong tasks = new AtomicLong();
+    private volatile Propagator solution;
+
+    ParallelSearch(Supplier<BranchingHeuristic> heuristics, int parallelism) {
+        this.heuristic = ThreadLocal.withInitial(heuristics);
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    void setLimits(SolveBudget budget, int maxBacktracks) {
+        this.budget = budget;
+        this.maxBacktracks = maxBacktracks;
+    }
+
+    void setAnytime(AnytimeGrid anytime) {
+        this.anytime = anytime;
+    }
+
+    void setGranularity(int sequentialCutoff, int maxSplitDepth) {
+        this.sequentialCutoff = sequentialCutoff;
+        this.maxSplitDepth = maxSplitDepth;
+    }
+
+    /** Cherche une solution ; retourne true si trouvée (voir getSolution()). */
+    boolean solve(Propagator root) {
+        cancelled.set(false);
+        aborted.set(false);
+        solutions.set(0);
+        solution = null;
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.invoke(new SubtreeTask(new Propagator(root), 0, true)) > 0;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private class SubtreeTask extends RecursiveTask<Long> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Propagator state;
+        private final int depth;
+        private final boolean fullPropagation;
+
+        SubtreeTask(Propagator state, int depth, boolean fullPropagation) {
+            this.state = state;
+            this.depth = depth;
+            this.fullPropagation = fullPropagation;
+        }
+
+        @Override
+        protected Long compute() {
+            tasks.incrementAndGet();
+            if (cancelled.get() || outOfBudget()) return 0L;
+
+            int unknown = state.getCellCount() - state.getDeterminedCount();
+            if (unknown <= sequentialCutoff || depth >= maxSplitDepth) {
+                return searchSequential();
+            }
+
+            nodes.incrementAndGet();
+            if (fullPropagation) state.enqueueAll();
+            if (!state.propagate()) {
+                backtracks.incrementAndGet();
+                return 0L;
+            }
+            if (anytime != null) {
+                anytime.offer(state);
+            }
+            if (state.isComplete()) {
+                return recordSolution(state);
+            }
+
+            BranchingHeuristic h = heuristic.get();
+            int line = h.selectLine(state);
+            List<SubtreeTask> branches = line >= 0 ? splitLine(h, line) : splitCell(h);
+            if (branches.isEmpty()) {
+                backtracks.incrementAndGet();
+                return 0L;
+            }
+
+            // Forkées en ordre inverse : la branche suivante reste au sommet de la file locale
+            for (int i = branches.size() - 1; i > 0; i--) {
+                branches.get(i).fork();
+            }
+            long found = branches.get(0).compute();
+            for (int i = 1; i < branches.size(); i++) {
+                SubtreeTask branch = branches.get(i);
+                // Solution trouvée : les branches encore ouvertes ne sont plus utiles
+                if (found > 0 && branch.tryUnfork()) continue;
+                found += branch.join();
+            }
+            return found;
+        }
+
+        private List<SubtreeTask> splitCell(BranchingHeuristic h) {
+            int cell = h.selectCell(state);
+            byte first = h.firstValue(state, cell);
+
+            Propagator other = new Propagator(state);
+            other.assign(cell, first == Propagator.FILLED ? Propagator.CROSSED : Propagator.FILLED);
+            state.assign(cell, first);
+
+            List<SubtreeTask> branches = new ArrayList<>(2);
+            branches.add(new SubtreeTask(state, depth + 1, false));
+            branches.add(new SubtreeTask(other, depth + 1, false));
+            return branches;
+        }
+
+        // Un placement par branche, dans l'ordre d'essai de l'heuristique (comme SearchEngine)
+        private List<SubtreeTask> splitLine(BranchingHeuristic h, int line) {
+            LinePlacements placements = h.linePlacements(state, line);
+            List<SubtreeTask> branches = new ArrayList<>(placements.size());
+            for (int index = 0; index < placements.size(); index++) {
+                Propagator branch = index == placements.size() - 1 ? state : new Propagator(state);
+                for (int i = 0; i < branch.lineLength(line); i++) {
+                    branch.assign(branch.lineCell(line, i),
+                            placements.isFilled(index, i) ? Propagator.FILLED : Propagator.CROSSED);
+                }
+                branches.add(new SubtreeTask(branch, depth + 1, false));
+            }
+            return branches;
+        }
+
+        private boolean outOfBudget() {
+            if (budget.shouldStop(nodes.get()) || backtracks.get() > maxBacktracks) {
+                aborted.set(true);
+                cancelled.set(true);
+                return true;
+            }
+            return false;
+        }
+
+        private long searchSequential() {
+            SolverStatistics local = new SolverStatistics();
+            SearchEngine engine = new SearchEngine(state, heuristic.get(), local);
+            engine.setLimits(budget, Integer.MAX_VALUE);
+            engine.setAnytime(anytime);
+            if (fullPropagation) state.enqueueAll();
+
+            long found = 0;
+            int reported = 0;
+            long lastNodes = 0;
+            while (!cancelled.get()) {
+                SearchEngine.Status status = engine.run(NODES_PER_CHECK);
+
+                nodes.addAndGet(local.getTotalSteps() - lastNodes);
+                lastNodes = local.getTotalSteps();
+                backtracks.addAndGet(local.getBacktrackCount() - reported);
+                reported = local.getBacktrackCount();
+
+                if (status == SearchEngine.Status.SOLVED) {
+                    found += recordSolution(state);
+                    break;
+                } else if (status == SearchEngine.Status.EXHAUSTED) {
+                    break;
+                } else if (status == SearchEngine.Status.ABORTED || backtracks.get() > maxBacktracks
+                        || budget.shouldStop(nodes.get())) {
+                    aborted.set(true);
+                    cancelled.set(true);
+                    break;
+                }
+            }
+            return found;
+        }
+
+        // Seule la première solution est gardée ; elle annule les autres tâches
+        private long recordSolution(Propagator complete) {
+            if (solutions.incrementAndGet() > 1) return 0L;
+            solution = new Propagator(complete);
+            cancelled.set(true);
+            return 1L;
+        }
+    }
+
+    Propagator getSolution() { return solution; }
+    boolean isAborted() { return aborted.get(); }
+    long getNodes() { return nodes.get(); }
+    long getBacktracks() { return backtracks.get(); }
+    long getTasks() { return tasks.get(); }
+    int getParallelism() { return parallelism; }
+}
\ No newline at end of file
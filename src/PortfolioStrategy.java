@@ -0,0 +1,351 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Course entre plusieurs stratégies : chaque membre résout sa propre copie de la grille
+ * dans son thread. La première grille complète qui respecte tous les indices gagne,
+ * les autres membres sont annulés par le jeton de la course (et par interruption).
+ */
+public class PortfolioStrategy implements SolverStrategy {
+
+    private static final long MAX_TIME_MS = 120000;
+    private static final long POLL_MS = 50;
+    private static final long STOP_WAIT_MS = 10000;
+
+    private final List<SolverStrategy> members;
+    private SolverStatistics stats;
+    private Nonogram nonogram;
+
+    private String winnerName = "";
+    private long winnerTimeMs;
+    private int cancelledMembers;
+
+    private boolean stepByStepMode = false;
+    private boolean anytimeMode = false;
+    private Queue<CellChange> changeQueue;
+    // Perdants de la course précédente, encore en train de s'arrêter
+    private ExecutorService previousRace;
+
+    private static class CellChange {
+        int row, col;
+        CellState state;
+        CellChange(int r, int c, CellState s) {
+            row = r; col = c; state = s;
+        }
+    }
+
+    // Résultat d'un membre : sa copie de la grille, ses statistiques et son temps
+    private static class MemberResult {
+        int member;
+        Nonogram grid;
+        SolverStatistics stats;
+        long timeMs;
+        MemberResult(int m, Nonogram g, SolverStatistics s, long t) {
+            member = m; grid = g; stats = s; timeMs = t;
+        }
+    }
+
+    public PortfolioStrategy() {
+        this(new SimpleLineSolver(), new BacktrackingSolver(), new AIHeuristicStrategy(), new SatSolverStrategy());
+    }
+
+    public PortfolioStrategy(SolverStrategy... members) {
+        this.members = new ArrayList<>(Arrays.asList(members));
+        this.stats = new SolverStatistics();
+        this.changeQueue = new LinkedList<>();
+    }
+
+    @Override
+    public String getName() {
+        return "🏁 Portfolio (course de stratégies)";
+    }
+
+    @Override
+    public SolverStatistics getStatistics() {
+        return stats;
+    }
+
+    @Override
+    public void resetStatistics() {
+        this.stats = new SolverStatistics();
+        this.changeQueue.clear();
+        this.winnerName = "";
+        this.winnerTimeMs = 0;
+        this.cancelledMembers = 0;
+    }
+
+    @Override
+    public void setStepByStepMode(boolean enabled) {
+        this.stepByStepMode = enabled;
+        resetStatistics();
+    }
+
+    // Transmis aux membres : sans gagnant, la grille reçoit le meilleur état partiel
+    @Override
+    public void setAnytimeMode(boolean enabled) {
+        this.anytimeMode = enabled;
+        for (SolverStrategy member : members) {
+            member.setAnytimeMode(enabled);
+        }
+    }
+
+    @Override
+    public boolean solve(Nonogram nonogram) {
+        return solve(nonogram, SolveBudget.ofTimeout(MAX_TIME_MS));
+    }
+
+    @Override
+    public boolean solve(Nonogram nonogram, SolveBudget budget) {
+        this.nonogram = nonogram;
+        if (!stepByStepMode) {
+            resetStatistics();
+        }
+
+        // Les membres sont réutilisés d'une course à l'autre : ceux de la course précédente
+        // doivent avoir rendu la main avant d'être relancés
+        awaitStopped(previousRace);
+        previousRace = null;
+
+        long startTime = System.currentTimeMillis();
+        ExecutorService executor = Executors.newFixedThreadPool(members.size(), r -> {
+            Thread t = new Thread(r, "portfolio");
+            t.setDaemon(true);
+            return t;
+        });
+        ExecutorCompletionService<MemberResult> race = new ExecutorCompletionService<>(executor);
+        List<Future<MemberResult>> running = new ArrayList<>();
+        // Jeton propre à la course : annuler les perdants n'annule pas l'appelant
+        CancellationToken raceToken = new CancellationToken(budget.getToken());
+        SolveBudget memberBudget = budget.withToken(raceToken);
+
+        for (int i = 0; i < members.size(); i++) {
+            final int index = i;
+            final Nonogram copy = copyOf(nonogram);
+            running.add(race.submit(() -> {
+                SolverStrategy member = members.get(index);
+                member.solve(copy, memberBudget);
+                return new MemberResult(index, copy, member.getStatistics(),
+                        System.currentTimeMillis() - startTime);
+            }));
+        }
+
+        MemberResult winner = null;
+        List<MemberResult> results = new ArrayList<>();
+        try {
+            int finished = 0;
+            while (finished < members.size() && winner == null
+                    && !budget.isCancelled() && !budget.isExpired()) {
+                Future<MemberResult> next = race.poll(POLL_MS, TimeUnit.MILLISECONDS);
+                if (next == null) {
+                    continue;
+                }
+                finished++;
+                MemberResult result = resultOf(next);
+                if (result != null) {
+                    results.add(result);
+                    if (isCompleteAndValid(result.grid)) {
+                        winner = result;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            raceToken.cancel();
+            if (winner != null) {
+                // Réponse immédiate : les perdants sont interrompus et s'arrêtent en arrière-plan
+                for (Future<MemberResult> f : running) {
+                    if (!f.isDone() && f.cancel(true)) {
+                        cancelledMembers++;
+                    }
+                }
+                executor.shutdownNow();
+                previousRace = executor;
+            }
+        }
+
+        if (winner == null) {
+            // Pas de gagnant : les membres s'arrêtent sur le jeton et rendent leur meilleur état
+            executor.shutdown();
+            awaitStopped(executor);
+            Future<MemberResult> next;
+            while ((next = race.poll()) != null) {
+                MemberResult result = resultOf(next);
+                if (result != null) {
+                    results.add(result);
+                }
+            }
+            for (Future<MemberResult> f : running) {
+                if (!f.isDone() && f.cancel(true)) {
+                    cancelledMembers++;
+                }
+            }
+            executor.shutdownNow();
+        }
+
+        boolean solved = winner != null;
+        if (solved) {
+            for (int r = 0; r < nonogram.getHeight(); r++) {
+                for (int c = 0; c < nonogram.getWidth(); c++) {
+                    nonogram.setCell(r, c, winner.grid.getCell(r, c));
+                }
+            }
+            SolverStatistics memberStats = winner.stats;
+            winnerName = members.get(winner.member).getName();
+            winnerTimeMs = winner.timeMs;
+            stats.setTotalSteps(memberStats.getTotalSteps());
+            stats.setBacktrackCount(memberStats.getBacktrackCount());
+            stats.setCellsSolvedByDeduction(memberStats.getCellsSolvedByDeduction());
+            stats.setCellsSolvedByGuessing(memberStats.getCellsSolvedByGuessing());
+            System.out.println("🏁 Gagnant : " + winnerName + " en " + winnerTimeMs + " ms ("
+                    + cancelledMembers + " membre(s) annulé(s))");
+        } else {
+            stats.setErrorMessage(budget.isCancelled() || budget.isExpired()
+                    ? budget.stopReason(0) : "Aucune stratégie n'a trouvé de solution");
+        }
+
+        stats.setExecutionTimeMs(System.currentTimeMillis() - startTime);
+        stats.setSolved(solved);
+        stats.setCompletionPercentage(solved ? 100.0 : bestPartial(results));
+        return solved;
+    }
+
+    // Complétion du membre le plus avancé ; en mode « à tout moment » sa grille est recopiée
+    private double bestPartial(List<MemberResult> results) {
+        MemberResult best = null;
+        for (MemberResult result : results) {
+            if (best == null || result.stats.getCompletionPercentage() > best.stats.getCompletionPercentage()) {
+                best = result;
+            }
+        }
+        if (best == null) {
+            return 0.0;
+        }
+        if (anytimeMode) {
+            for (int r = 0; r < nonogram.getHeight(); r++) {
+                for (int c = 0; c < nonogram.getWidth(); c++) {
+                    nonogram.setCell(r, c, best.grid.getCell(r, c));
+                }
+            }
+        }
+        return best.stats.getCompletionPercentage();
+    }
+
+    private static MemberResult resultOf(Future<MemberResult> future) {
+        try {
+            return future.get();
+        } catch (Exception e) {
+            // Un membre en échec ne fait que perdre la course
+            return null;
+        }
+    }
+
+    private static void awaitStopped(ExecutorService executor) {
+        if (executor == null) {
+            return;
+        }
+        try {
+            executor.awaitTermination(STOP_WAIT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Grille complète dont chaque ligne respecte exactement ses indices
+    private static boolean isCompleteAndValid(Nonogram grid) {
+        int width = grid.getWidth();
+        int height = grid.getHeight();
+        LineClues clues = grid.getClues();
+        CellState[] line = new CellState[Math.max(width, height)];
+
+        for (int r = 0; r < height; r++) {
+            for (int c = 0; c < width; c++) {
+                if (grid.getCell(r, c) == CellState.EMPTY) return false;
+                line[c] = grid.getCell(r, c);
+            }
+            if (!matches(line, width, clues.getRowClues()[r])) return false;
+        }
+        for (int c = 0; c < width; c++) {
+            for (int r = 0; r < height; r++) {
+                line[r] = grid.getCell(r, c);
+            }
+            if (!matches(line, height, clues.getColClues()[c])) return false;
+        }
+        return true;
+    }
+
+    private static boolean matches(CellState[] line, int length, int[] clue) {
+        int[] blocks = LinePlacements.normalizeClue(clue);
+        int block = 0;
+        int run = 0;
+        for (int i = 0; i <= length; i++) {
+            if (i < length && line[i] == CellState.FILLED) {
+                run++;
+            } else if (run > 0) {
+                if (block >= blocks.length || blocks[block] != run) return false;
+                block++;
+                run = 0;
+            }
+        }
+        return block == blocks.length;
+    }
+
+    private static Nonogram copyOf(Nonogram nonogram) {
+        Nonogram copy = new Nonogram(nonogram.getWidth(), nonogram.getHeight(),
+                nonogram.getClues(), nonogram.getSolution());
+        for (int r = 0; r < nonogram.getHeight(); r++) {
+            for (int c = 0; c < nonogram.getWidth(); c++) {
+                copy.setCell(r, c, nonogram.getCell(r, c));
+            }
+        }
+        return copy;
+    }
+
+    @Override
+    public boolean executeNextStep(Nonogram nonogram) {
+        this.nonogram = nonogram;
+
+        if (changeQueue.isEmpty() && stats.getTotalSteps() == 0 && winnerName.isEmpty()) {
+            Nonogram copy = copyOf(nonogram);
+            if (!solve(copy)) {
+                return false;
+            }
+            for (int r = 0; r < nonogram.getHeight(); r++) {
+                for (int c = 0; c < nonogram.getWidth(); c++) {
+                    if (nonogram.getCell(r, c) != copy.getCell(r, c)) {
+                        changeQueue.add(new CellChange(r, c, copy.getCell(r, c)));
+                    }
+                }
+            }
+        }
+
+        CellChange change = changeQueue.poll();
+        if (change == null) {
+            return false;
+        }
+        nonogram.setCell(change.row, change.col, change.state);
+        return !changeQueue.isEmpty();
+    }
+
+    @Override
+    public boolean hasNextStep() {
+        return stepByStepMode && (winnerName.isEmpty() || !changeQueue.isEmpty());
+    }
+
+    @Override
+    public int getCurrentStep() {
+        return stats.getTotalSteps();
+    }
+
+    public String getWinnerName() { return winnerName; }
+    public long getWinnerTimeMs() { return winnerTimeMs; }
+    public int getCancelledMembers() { return cancelledMembers; }
+}
\ No newline at end of file
@@ -0,0 +1,346 @@
+import java.util.BitSet;
+import java.util.Random;
+
+/**
+ * Grille de travail pour la recherche : états des cases en octets, piste (trail)
+ * des affectations pour revenir en arrière sans copier la grille, et propagation
+ * ligne par ligne avec LineSolver jusqu'au point fixe.
+ * Lignes 0..height-1 = rangées, height..height+width-1 = colonnes.
+ */
+class Propagator {
+
+    static final byte UNKNOWN = LineSolver.UNKNOWN;
+    static final byte FILLED = LineSolver.FILLED;
+    static final byte CROSSED = LineSolver.CROSSED;
+
+    private final int width;
+    private final int height;
+    private final int[][] blocks;
+    private final byte[] cells;
+
+    private final int[] trail;
+    private int trailSize;
+
+    // Pour chaque case : ligne qui l'a déduite (-1 = décision ou donnée) et position dans la piste
+    private final int[] reasonLine;
+    private final int[] position;
+    private int currentReason = -1;
+    private final int[] explainStamp;
+    private final int[] explainStack;
+    private int explainId;
+
+    // Hachage Zobrist de l'état, tenu à jour par assign et undo
+    private final long[] zobrist;
+    private long hash;
+
+    // Incrémenté à chaque affectation ou annulation d'une case de la ligne
+    private final int[] lineVersion;
+
+    private final int[] queue;
+    private final boolean[] inQueue;
+    private int queueHead;
+    private int queueSize;
+
+    private final LineSolver solver = new LineSolver();
+    private final byte[] lineBuffer;
+    private final byte[] outBuffer;
+
+    private long lineSolves;
+    private int conflictLine = -1;
+
+    Propagator(LineClues clues, int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.blocks = new int[height + width][];
+        for (int r = 0; r < height; r++) {
+            blocks[r] = LinePlacements.normalizeClue(clues.getRowClues()[r]);
+        }
+        for (int c = 0; c < width; c++) {
+            blocks[height + c] = LinePlacements.normalizeClue(clues.getColClues()[c]);
+        }
+        this.cells = new byte[width * height];
+        this.trail = new int[width * height];
+        this.reasonLine = new int[width * height];
+        this.position = new int[width * height];
+        this.explainStamp = new int[width * height];
+        this.explainStack = new int[width * height];
+        this.lineVersion = new int[height + width];
+        this.zobrist = zobristKeys(width * height);
+        this.queue = new int[height + width];
+        this.inQueue = new boolean[height + width];
+        this.lineBuffer = new byte[Math.max(width, height)];
+        this.outBuffer = new byte[Math.max(width, height)];
+        enqueueAll();
+    }
+
+    // Copie indépendante (mêmes indices, même état, file vide)
+    Propagator(Propagator other) {
+        this.width = other.width;
+        this.height = other.height;
+        this.blocks = other.blocks;
+        this.cells = other.cells.clone();
+        this.trail = other.trail.clone();
+        this.trailSize = other.trailSize;
+        this.reasonLine = other.reasonLine.clone();
+        this.position = other.position.clone();
+        this.explainStamp = new int[cells.length];
+        this.explainStack = new int[cells.length];
+        this.lineVersion = other.lineVersion.clone();
+        this.zobrist = other.zobrist;
+        this.hash = other.hash;
+        this.queue = new int[height + width];
+        this.inQueue = new boolean[height + width];
+        this.lineBuffer = new byte[Math.max(width, height)];
+        this.outBuffer = new byte[Math.max(width, height)];
+    }
+
+    // Mêmes clés pour toutes les grilles de même taille : les hachages restent comparables
+    private static long[] zobristKeys(int cellCount) {
+        Random random = new Random(0x5DEECE66DL + cellCount);
+        long[] keys = new long[cellCount * 2];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextLong();
+        }
+        return keys;
+    }
+
+    static Propagator fromNonogram(Nonogram nonogram) {
+        Propagator p = new Propagator(nonogram.getClues(), nonogram.getWidth(), nonogram.getHeight());
+        p.load(nonogram);
+        return p;
+    }
+
+    void load(Nonogram nonogram) {
+        for (int r = 0; r < height; r++) {
+            for (int c = 0; c < width; c++) {
+                CellState s = nonogram.getCell(r, c);
+                if (s == CellState.FILLED) {
+                    assign(r * width + c, FILLED);
+                } else if (s == CellState.CROSSED) {
+                    assign(r * width + c, CROSSED);
+                }
+            }
+        }
+    }
+
+    void copyCellsTo(byte[] target) {
+        System.arraycopy(cells, 0, target, 0, cells.length);
+    }
+
+    void writeTo(Nonogram nonogram) {
+        for (int r = 0; r < height; r++) {
+            for (int c = 0; c < width; c++) {
+                nonogram.setCell(r, c, toCellState(cells[r * width + c]));
+            }
+        }
+    }
+
+    static CellState toCellState(byte value) {
+        return value == FILLED ? CellState.FILLED : value == CROSSED ? CellState.CROSSED : CellState.EMPTY;
+    }
+
+    /**
+     * Affecte une case et met ses deux lignes en file.
+     * Retourne false si la case porte déjà la valeur opposée.
+     */
+    boolean assign(int cell, byte value) {
+        byte current = cells[cell];
+        if (current == value) return true;
+        if (current != UNKNOWN) {
+            conflictLine = cell / width;
+            return false;
+        }
+        cells[cell] = value;
+        reasonLine[cell] = currentReason;
+        position[cell] = trailSize;
+        trail[trailSize++] = cell;
+        hash ^= zobrist[2 * cell + value - 1];
+        touch(cell);
+        enqueue(cell / width);
+        enqueue(height + cell % width);
+        return true;
+    }
+
+    /**
+     * Déduit les lignes en file jusqu'au point fixe.
+     * Retourne false en cas de contradiction (la ligne fautive est dans getConflictLine()).
+     */
+    boolean propagate() {
+        while (queueSize > 0) {
+            int line = queue[queueHead];
+            queueHead = (queueHead + 1) % queue.length;
+            queueSize--;
+            inQueue[line] = false;
+
+            if (!solveLine(line)) {
+                conflictLine = line;
+                clearQueue();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean solveLine(int line) {
+        boolean isRow = line < height;
+        int fixed = isRow ? line : line - height;
+        int length = isRow ? width : height;
+
+        readLine(line);
+        lineSolves++;
+        if (!solver.solve(blocks[line], lineBuffer, length, outBuffer)) {
+            return false;
+        }
+
+        currentReason = line;
+        for (int i = 0; i < length; i++) {
+            if (outBuffer[i] != lineBuffer[i]) {
+                assign(isRow ? fixed * width + i : i * width + fixed, outBuffer[i]);
+            }
+        }
+        currentReason = -1;
+        return true;
+    }
+
+    private void readLine(int line) {
+        for (int i = 0; i < lineLength(line); i++) {
+            lineBuffer[i] = cells[lineCell(line, i)];
+        }
+    }
+
+    /** Nombre de placements de la ligne compatibles avec ses cases connues. */
+    long countPlacements(int line) {
+        readLine(line);
+        return solver.count(blocks[line], lineBuffer, lineLength(line));
+    }
+
+    // Même compte, la case d'indice index de la ligne étant supposée à value
+    long countPlacements(int line, int index, byte value) {
+        readLine(line);
+        lineBuffer[index] = value;
+        return solver.count(blocks[line], lineBuffer, lineLength(line));
+    }
+
+    // Même compte, et filled[i] = nombre de placements qui remplissent la case i
+    long countPlacements(int line, long[] filled) {
+        readLine(line);
+        return solver.countFilled(blocks[line], lineBuffer, lineLength(line), filled);
+    }
+
+    CellState[] lineState(int line) {
+        CellState[] state = new CellState[lineLength(line)];
+        for (int i = 0; i < state.length; i++) {
+            state[i] = toCellState(cells[lineCell(line, i)]);
+        }
+        return state;
+    }
+
+    int lineLength(int line) {
+        return line < height ? width : height;
+    }
+
+    // Case d'indice i dans la ligne
+    int lineCell(int line, int i) {
+        return line < height ? line * width + i : i * width + (line - height);
+    }
+
+    /**
+     * Explique l'état d'une ligne : positions dans la piste des affectations sans raison
+     * (décisions ou données) dont dépendent ses cases connues. Chaque case déduite dépend
+     * des cases de sa ligne de raison qui étaient connues avant elle.
+     */
+    BitSet explain(int line) {
+        BitSet roots = new BitSet();
+        explainId++;
+        int top = 0;
+
+        boolean isRow = line < height;
+        int fixed = isRow ? line : line - height;
+        int length = isRow ? width : height;
+        for (int i = 0; i < length; i++) {
+            int cell = isRow ? fixed * width + i : i * width + fixed;
+            if (cells[cell] != UNKNOWN && explainStamp[cell] != explainId) {
+                explainStamp[cell] = explainId;
+                explainStack[top++] = cell;
+            }
+        }
+
+        while (top > 0) {
+            int cell = explainStack[--top];
+            int reason = reasonLine[cell];
+            if (reason < 0) {
+                roots.set(position[cell]);
+                continue;
+            }
+            boolean reasonIsRow = reason < height;
+            int reasonFixed = reasonIsRow ? reason : reason - height;
+            int reasonLength = reasonIsRow ? width : height;
+            for (int i = 0; i < reasonLength; i++) {
+                int other = reasonIsRow ? reasonFixed * width + i : i * width + reasonFixed;
+                if (cells[other] != UNKNOWN && position[other] < position[cell]
+                        && explainStamp[other] != explainId) {
+                    explainStamp[other] = explainId;
+                    explainStack[top++] = other;
+                }
+            }
+        }
+        return roots;
+    }
+
+    int mark() {
+        return trailSize;
+    }
+
+    // Annule toutes les affectations faites depuis la marque
+    void undo(int mark) {
+        while (trailSize > mark) {
+            int cell = trail[--trailSize];
+            hash ^= zobrist[2 * cell + cells[cell] - 1];
+            cells[cell] = UNKNOWN;
+            touch(cell);
+        }
+        clearQueue();
+    }
+
+    private void touch(int cell) {
+        lineVersion[cell / width]++;
+        lineVersion[height + cell % width]++;
+    }
+
+    void enqueueAll() {
+        for (int line = 0; line < height + width; line++) {
+            enqueue(line);
+        }
+    }
+
+    private void enqueue(int line) {
+        if (!inQueue[line]) {
+            inQueue[line] = true;
+            queue[(queueHead + queueSize) % queue.length] = line;
+            queueSize++;
+        }
+    }
+
+    private void clearQueue() {
+        while (queueSize > 0) {
+            inQueue[queue[queueHead]] = false;
+            queueHead = (queueHead + 1) % queue.length;
+            queueSize--;
+        }
+    }
+
+    byte get(int cell) { return cells[cell]; }
+    byte get(int row, int col) { return cells[row * width + col]; }
+    boolean isComplete() { return trailSize == cells.length; }
+    int getDeterminedCount() { return trailSize; }
+    int getCellCount() { return cells.length; }
+    int trailAt(int index) { return trail[index]; }
+    int getWidth() { return width; }
+    int getHeight() { return height; }
+    int getConflictLine() { return conflictLine; }
+    int getLineCount() { return height + width; }
+    int getLineVersion(int line) { return lineVersion[line]; }
+    long getHash() { return hash; }
+    int[] getBlocks(int line) { return blocks[line]; }
+    long getLineSolves() { return lineSolves; }
+}
\ No newline at end of file
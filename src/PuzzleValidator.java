@@ -2,244 +2,290 @@ import java.util.*;
 
 public class PuzzleValidator {
 
-	
+	// Jusqu'ici l'énumération des rangées compte plus vite que la recherche (mesuré sur
+	// des grilles aléatoires : 3 à 4 fois plus rapide en 8×8 et 10×10, à égalité vers 12×12)
+	private static final int COUNTER_MAX_CELLS = 100;
+
+	// Propagation ligne par ligne puis branchement, arrêt dès la deuxième solution
 	public static boolean hasUniqueSolution(LineClues clues, int width, int height) {
-		
-		SolutionCounter counter = new SolutionCounter(clues, width, height);
-		
-		return counter.countSolutions(2) == 1; 
+		return hasUniqueSolution(clues, width, height, SolveBudget.unlimited());
+	}
+
+	/**
+	 * Variante bornée pour les générateurs : quand le budget s'épuise avant la fin du
+	 * comptage, l'unicité n'est pas prouvée et la grille est refusée.
+	 */
+	public static boolean hasUniqueSolution(LineClues clues, int width, int height, SolveBudget budget) {
+		return countSolutions(clues, width, height, 2, budget) == 1;
+	}
+
+	public static long countSolutions(LineClues clues, int width, int height, long limit) {
+		return countSolutions(clues, width, height, limit, SolveBudget.unlimited());
+	}
+
+	/**
+	 * Nombre de solutions, arrêté dès limit ; -1 si le budget s'épuise avant. Aucune
+	 * recherche quand la propagation détermine toute la grille. Les petites grilles sont
+	 * ensuite comptées par SolutionCounter ; au-delà ComponentSearch compte composante par
+	 * composante en branchant sur des lignes entières, ce qui garde les grilles ambiguës
+	 * de 20×20 et plus à quelques milliers de nœuds.
+	 */
+	public static long countSolutions(LineClues clues, int width, int height, long limit, SolveBudget budget) {
+		Propagator root = new Propagator(clues, width, height);
+		if (!root.propagate()) {
+			return 0;
+		}
+		if (root.isComplete()) {
+			return 1;
+		}
+		if (width <= SolutionCounter.MAX_WIDTH && width * height <= COUNTER_MAX_CELLS) {
+			SolutionCounter counter = new SolutionCounter(clues, width, height, root);
+			counter.setBudget(budget);
+			int count = counter.countSolutions((int) Math.min(limit, Integer.MAX_VALUE));
+			return counter.isAborted() ? -1 : count;
+		}
+		return countBySearch(root, limit, budget);
 	}
 
+	// Chemin des grandes grilles, aussi confronté à SolutionCounter par crossCheck
+	private static long countBySearch(Propagator root, long limit, SolveBudget budget) {
+		ComponentSearch search = new ComponentSearch(LineBranchingHeuristic::new, 1);
+		search.setLimits(budget, Integer.MAX_VALUE);
+		long count = search.count(root, limit);
+		return search.isAborted() ? -1 : count;
+	}
+
+	/**
+	 * Compteur par énumération des rangées. Les placements de chaque rangée, compatibles
+	 * avec les cases déjà déduites, sont des masques long calculés une seule fois ; l'état
+	 * de chaque colonne (bloc courant, longueur du bloc ouvert) est empilé rangée par
+	 * rangée, et ce que les colonnes imposent à la rangée suivante tient dans deux masques
+	 * testés d'un coup sur chaque placement.
+	 */
 	private static class SolutionCounter {
-		
-		private final LineClues clues; 
-		private final int width;        
-		private final int height;         
-		private final CellState[][] grid;         
-		private int solutionCount;            
-		private final int maxSolutions;          
 
-		
+		static final int MAX_WIDTH = 64;
+		// Placements essayés entre deux consultations du budget
+		private static final int CHECK_EVERY = 1024;
+
+		private final int width;
+		private final int height;
+		private int solutionCount;
+		private int maxSolutions;
+		// Bit c d'un placement = colonne c remplie
+		private final long[][] rowCandidates;
+		private final long[] rows;
+		private final int[][] colClues;
+		// Cases minimales pour placer les blocs b.. d'une colonne (séparateurs compris)
+		private final int[][] colNeeded;
+		// Pile des états de colonnes : niveau r = état avant la rangée r
+		private final int[][] colBlock;
+		private final int[][] colRun;
+		// Symétries des indices : seule la plus petite solution de chaque orbite est parcourue
+		private final Symmetry symmetry;
+		private long symmetryPrunes;
+		private SolveBudget budget = SolveBudget.unlimited();
+		private long nodes;
+		private boolean aborted;
+
 		public SolutionCounter(LineClues clues, int width, int height) {
-			this.clues = clues;
+			this(clues, width, height, null);
+		}
+
+		// known : cases déjà déduites par propagation (null = aucune)
+		public SolutionCounter(LineClues clues, int width, int height, Propagator known) {
+			if (width > MAX_WIDTH) {
+				throw new IllegalArgumentException("SolutionCounter : 64 colonnes au plus");
+			}
 			this.width = width;
 			this.height = height;
-			this.grid = new CellState[height][width]; 
-			this.solutionCount = 0;     
-			this.maxSolutions = 2; 
-			
-			for (int i = 0; i < height; i++) {
-				for (int j = 0; j < width; j++) {
-					grid[i][j] = CellState.EMPTY;
+			this.rowCandidates = new long[height][];
+			this.rows = new long[height];
+			this.colClues = new int[width][];
+			this.colNeeded = new int[width][];
+			this.colBlock = new int[height + 1][width];
+			this.colRun = new int[height + 1][width];
+			this.symmetry = Symmetry.detect(clues);
+
+			CellState[] current = known != null ? new CellState[width] : null;
+			for (int r = 0; r < height; r++) {
+				if (known != null) {
+					for (int c = 0; c < width; c++) {
+						byte v = known.get(r, c);
+						current[c] = v == Propagator.FILLED ? CellState.FILLED
+								: v == Propagator.CROSSED ? CellState.CROSSED : CellState.EMPTY;
+					}
+				}
+				LinePlacements placements = LinePlacements.generate(clues.getRowClues()[r], width, current);
+				rowCandidates[r] = new long[placements.size()];
+				for (int p = 0; p < placements.size(); p++) {
+					rowCandidates[r][p] = placements.maskWord(p, 0);
+				}
+			}
+			for (int c = 0; c < width; c++) {
+				int[] clue = LinePlacements.normalizeClue(clues.getColClues()[c]);
+				colClues[c] = clue;
+				colNeeded[c] = new int[clue.length + 1];
+				for (int b = clue.length - 1; b >= 0; b--) {
+					colNeeded[c][b] = clue[b] + (b < clue.length - 1 ? 1 + colNeeded[c][b + 1] : 0);
 				}
 			}
 		}
 
-		
+		public void setBudget(SolveBudget budget) {
+			this.budget = budget;
+		}
+
+		public boolean isAborted() {
+			return aborted;
+		}
+
 		public int countSolutions(int max) {
-			this.solutionCount = 0; 
-			solveRecursive(0);       
-			return solutionCount;     
+			this.solutionCount = 0;
+			this.maxSolutions = max;
+			this.nodes = 0;
+			this.aborted = false;
+			solveRecursive(0);
+			return Math.min(solutionCount, max);
 		}
 
-	
 		private void solveRecursive(int row) {
-			
-			if (solutionCount >= maxSolutions) {
-				return;
-			}
-
-			
 			if (row >= height) {
-				if (isValidSolution()) {
-					solutionCount++;
+				if (columnsComplete()) {
+					solutionCount += symmetry != null ? symmetry.orbitSize(cell -> valueAt(cell, height - 1)) : 1;
 				}
 				return;
 			}
 
-			
-			int[] rowClue = clues.getRowClues()[row];
-			List<CellState[]> possibleLines = generatePossibleLines(rowClue, width);
-
-			for (CellState[] line : possibleLines) {
-				
-				for (int col = 0; col < width; col++) {
-					grid[row][col] = line[col];
+			// Ce que chaque colonne impose à cette rangée ; une colonne qui ne peut plus
+			// placer ses blocs dans les rangées restantes coupe toute la branche
+			int[] block = colBlock[row];
+			int[] run = colRun[row];
+			int remaining = height - row;
+			long mustFill = 0;
+			long mustEmpty = 0;
+			for (int c = 0; c < width; c++) {
+				int needed = colNeeded[c][block[c]] - run[c];
+				if (needed > remaining) {
+					return;
 				}
-
-				
-				if (isPartiallyValid(row)) {
-					
-					solveRecursive(row + 1);
+				if (run[c] > 0) {
+					if (run[c] < colClues[c][block[c]]) {
+						mustFill |= 1L << c;
+					} else {
+						mustEmpty |= 1L << c;
+					}
+				} else if (needed == 0) {
+					mustEmpty |= 1L << c;
+				} else if (needed == remaining) {
+					mustFill |= 1L << c;
 				}
 			}
-		}
 
-		
-		private boolean isValidSolution() {
-			
-			for (int col = 0; col < width; col++) {
-				if (!matchesClue(getColumn(col), clues.getColClues()[col])) {
-					return false;
+			int[] nextBlock = colBlock[row + 1];
+			int[] nextRun = colRun[row + 1];
+			for (long line : rowCandidates[row]) {
+				if ((line & mustFill) != mustFill || (line & mustEmpty) != 0) {
+					continue;
 				}
-			}
-			return true;
-		}
-
-		private boolean isPartiallyValid(int upToRow) {
-			for (int col = 0; col < width; col++) {
-				if (!isColumnPartiallyValid(col, upToRow)) {
-					return false;
+				if (++nodes % CHECK_EVERY == 0 && budget.shouldStop(nodes)) {
+					aborted = true;
 				}
-			}
-			return true;
-		}
-
-		private boolean isColumnPartiallyValid(int col, int upToRow) {
-			int[] clue = clues.getColClues()[col];
-			List<Integer> currentGroups = new ArrayList<>();
-			int currentCount = 0;
-
-			for (int row = 0; row <= upToRow; row++) {
-				if (grid[row][col] == CellState.FILLED) {
-					currentCount++;
-				} else if (currentCount > 0) {
-					currentGroups.add(currentCount);
-					currentCount = 0;
+				if (aborted) {
+					return;
 				}
-			}
-
-			
-			boolean hasOpenGroup = currentCount > 0;
-
-			
-			if (currentGroups.size() > clue.length) {
-				return false;
-			}
-
-			
-			for (int i = 0; i < currentGroups.size(); i++) {
-				if (currentGroups.get(i) != clue[i]) {
-					return false;
+				rows[row] = line;
+				if (symmetry != null && symmetry.violates(cell -> valueAt(cell, row))) {
+					symmetryPrunes++;
+					continue;
 				}
-			}
-
-		
-			if (hasOpenGroup && currentGroups.size() < clue.length) {
-				int expectedSize = clue[currentGroups.size()];
-				if (currentCount > expectedSize) {
-					return false;
+				for (int c = 0; c < width; c++) {
+					if ((line >>> c & 1L) != 0) {
+						nextBlock[c] = block[c];
+						nextRun[c] = run[c] + 1;
+					} else {
+						nextBlock[c] = run[c] > 0 ? block[c] + 1 : block[c];
+						nextRun[c] = 0;
+					}
 				}
-			}
-
-			return true;
-		}
-
-		private CellState[] getColumn(int col) {
-			CellState[] column = new CellState[height];
-			for (int row = 0; row < height; row++) {
-				column[row] = grid[row][col];
-			}
-			return column;
-		}
-
-		private boolean matchesClue(CellState[] line, int[] clue) {
-			List<Integer> groups = new ArrayList<>();
-			int count = 0;
-
-			for (CellState cell : line) {
-				if (cell == CellState.FILLED) {
-					count++;
-				} else if (count > 0) {
-					groups.add(count);
-					count = 0;
+				solveRecursive(row + 1);
+				if (solutionCount >= maxSolutions || aborted) {
+					return;
 				}
 			}
+		}
 
-			if (count > 0) {
-				groups.add(count);
-			}
-
-			
-			if (groups.isEmpty()) {
-				return clue.length == 1 && clue[0] == 0;
-			}
-
-			
-			if (groups.size() != clue.length) {
-				return false;
-			}
-
-			for (int i = 0; i < groups.size(); i++) {
-				if (!groups.get(i).equals(clue[i])) {
+		// Chaque colonne a placé tous ses blocs, le dernier éventuellement encore ouvert
+		private boolean columnsComplete() {
+			for (int c = 0; c < width; c++) {
+				if (colNeeded[c][colBlock[height][c]] != colRun[height][c]) {
 					return false;
 				}
 			}
-
 			return true;
 		}
 
-		
-		private List<CellState[]> generatePossibleLines(int[] clue, int length) {
-			List<CellState[]> results = new ArrayList<>();
-
-			
-			if (clue.length == 1 && clue[0] == 0) {
-				CellState[] emptyLine = new CellState[length];
-				Arrays.fill(emptyLine, CellState.EMPTY);
-				results.add(emptyLine);
-				return results;
+		// Valeur de la case pour Symmetry : 0 tant que sa rangée n'est pas placée
+		private int valueAt(int cell, int upToRow) {
+			int row = cell / width;
+			if (row > upToRow) {
+				return 0;
 			}
+			return (rows[row] >>> (cell % width) & 1L) != 0 ? 1 : 2;
+		}
 
-			generateLinesRecursive(clue, length, 0, 0, new CellState[length], results);
-			return results;
+		public long getSymmetryPrunes() {
+			return symmetryPrunes;
 		}
+	}
 
-		
-		private void generateLinesRecursive(int[] clue, int length, int pos, int clueIndex, 
-				CellState[] current, List<CellState[]> results) {
-			
-			if (clueIndex >= clue.length) {
-				
-				for (int i = pos; i < length; i++) {
-					current[i] = CellState.EMPTY;
+	/**
+	 * Contrôle croisé sur des grilles aléatoires size×size : nombre de solutions (jusqu'à
+	 * limit) selon SolutionCounter, selon SearchEngine en branchant sur des lignes puis sur
+	 * des cases, avec les sauts arrière, et selon le chemin de countSolutions réservé aux
+	 * grandes grilles. Retourne le nombre de désaccords.
+	 */
+	static int crossCheck(int grids, int size, int limit, long seed) {
+		Random random = new Random(seed);
+		int mismatches = 0;
+		for (int i = 0; i < grids; i++) {
+			CellState[][] grid = new CellState[size][size];
+			double density = 0.3 + random.nextDouble() * 0.3;
+			for (int r = 0; r < size; r++) {
+				for (int c = 0; c < size; c++) {
+					grid[r][c] = random.nextDouble() < density ? CellState.FILLED : CellState.EMPTY;
 				}
-				results.add(current.clone());
-				return;
 			}
-
-			int groupSize = clue[clueIndex];
-			int remainingGroups = clue.length - clueIndex - 1;
-			int minSpaceNeeded = groupSize;
-
-		
-			for (int i = clueIndex + 1; i < clue.length; i++) {
-				minSpaceNeeded += 1 + clue[i]; 
+			LineClues clues = new LineClues(ConcurrentPropagator.computeClues(grid, true),
+					ConcurrentPropagator.computeClues(grid, false));
+			if (!agrees(clues, size, size, limit)) {
+				mismatches++;
 			}
+		}
+		return mismatches;
+	}
 
-			
-			for (int start = pos; start <= length - minSpaceNeeded; start++) {
-				
-				for (int i = pos; i < start; i++) {
-					current[i] = CellState.EMPTY;
-				}
-
-				
-				for (int i = start; i < start + groupSize; i++) {
-					current[i] = CellState.FILLED;
-				}
-
-				
-				int nextPos = start + groupSize;
-				if (clueIndex < clue.length - 1 && nextPos < length) {
-					current[nextPos] = CellState.EMPTY;
-					nextPos++;
-				}
+	private static boolean agrees(LineClues clues, int width, int height, int limit) {
+		int expected = new SolutionCounter(clues, width, height).countSolutions(limit);
+		long byLines = countWithEngine(clues, width, height, new LineBranchingHeuristic(), limit);
+		long byCells = countWithEngine(clues, width, height, new AIHeuristicStrategy.MrvHeuristic(), limit);
+		long bySearch = countBySearch(new Propagator(clues, width, height), limit, SolveBudget.unlimited());
+		if (byLines != expected || byCells != expected || bySearch != expected) {
+			System.out.println("⚠️ Désaccord : " + expected + " solutions, " + byLines
+					+ " en branchant sur les lignes, " + byCells + " sur les cases, "
+					+ bySearch + " par ComponentSearch");
+			return false;
+		}
+		return true;
+	}
 
-				
-				generateLinesRecursive(clue, length, nextPos, clueIndex + 1, current, results);
-			}
+	private static long countWithEngine(LineClues clues, int width, int height, BranchingHeuristic heuristic, int limit) {
+		SearchEngine engine = new SearchEngine(new Propagator(clues, width, height), heuristic, new SolverStatistics());
+		long count = 0;
+		while (count < limit && engine.run() == SearchEngine.Status.SOLVED) {
+			count++;
 		}
+		return count;
 	}
 
 	public static void main(String[] args) {
@@ -258,5 +304,33 @@ public class PuzzleValidator {
 
 		System.out.println("Test 2 - Solution unique : " + 
 				hasUniqueSolution(clues2, 5, 5));
+
+		for (LineClues clues : new LineClues[] {clues1, clues2}) {
+			SolutionCounter counter = new SolutionCounter(clues, 5, 5);
+			System.out.println("Solutions (max 2) : " + counter.countSolutions(2)
+					+ ", branches symétriques élaguées : " + counter.getSymmetryPrunes());
+		}
+
+		// Grilles où les sauts arrière depuis un cadre de ligne perdaient des solutions (4 et 2)
+		int[][] rowClues3 = {{1, 2, 1}, {1}, {3, 1}, {3, 1}, {2, 1}, {1, 1}, {1, 1}, {2, 1}};
+		int[][] colClues3 = {{1, 1}, {1}, {2, 2}, {2, 1, 1}, {1, 1, 2}, {1, 1, 1}, {1, 1, 1}, {1, 1}};
+		int[][] rowClues4 = {{3}, {2, 2}, {2, 2}, {3}, {3}, {3}, {1, 1}, {1, 1}};
+		int[][] colClues4 = {{1, 1}, {2}, {1, 1}, {1, 1}, {4, 1}, {1, 2, 1}, {1, 1, 3}, {1, 1}};
+		System.out.println("Test 3 - Comptages identiques : "
+				+ agrees(new LineClues(rowClues3, colClues3), 8, 8, 100));
+		System.out.println("Test 4 - Comptages identiques : "
+				+ agrees(new LineClues(rowClues4, colClues4), 8, 8, 100));
+		// Les mêmes avec 5 rangées vides en plus : au-delà de 100 cases, countSolutions passe par ComponentSearch
+		int[][] paddedRows3 = Arrays.copyOf(rowClues3, 13);
+		int[][] paddedRows4 = Arrays.copyOf(rowClues4, 13);
+		for (int r = 8; r < 13; r++) {
+			paddedRows3[r] = new int[0];
+			paddedRows4[r] = new int[0];
+		}
+		System.out.println("Test 5 - Solutions (max 10) : "
+				+ countSolutions(new LineClues(paddedRows3, colClues3), 8, 13, 10) + " (attendu 4)");
+		System.out.println("Test 6 - Solutions (max 10) : "
+				+ countSolutions(new LineClues(paddedRows4, colClues4), 8, 13, 10) + " (attendu 2)");
+		System.out.println("Contrôle croisé 8×8 : " + crossCheck(500, 8, 100, 1) + " désaccord(s) sur 500 grilles");
 	}
 }
\ No newline at end of file
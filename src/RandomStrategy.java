@@ -25,13 +25,18 @@ public class RandomStrategy implements SolverStrategy {
 
     @Override
     public boolean solve(Nonogram nonogram) {
+        return solve(nonogram, SolveBudget.unlimited());
+    }
+
+    @Override
+    public boolean solve(Nonogram nonogram, SolveBudget budget) {
         resetStatistics();
         long start = System.currentTimeMillis();
 
         
         long effectiveMax = stepByStep ? 1000 : maxAttempts;
 
-        for (attemptCounter = 0; attemptCounter < effectiveMax; attemptCounter++) {
+        for (attemptCounter = 0; attemptCounter < effectiveMax && !budget.shouldStop(attemptCounter); attemptCounter++) {
             fillRandom(nonogram);
             stats.incrementSteps();
 
@@ -0,0 +1,68 @@
+/**
+ * Politique de redémarrage de la recherche : nombre de nœuds accordé à chaque passe,
+ * suite de Luby (u, u, 2u, u, u, 2u, 4u, ...) ou géométrique (u, u·f, u·f², ...).
+ * À partir de la deuxième passe, les égalités de l'heuristique sont départagées au hasard ;
+ * avec la sauvegarde de phase, chaque case reprend d'abord la valeur qu'elle avait à la
+ * fin de la passe précédente.
+ */
+public class RestartPolicy {
+
+    private static final int DEFAULT_UNIT = 100;
+
+    private final boolean enabled;
+    private final boolean luby;
+    private final long unit;
+    private final double factor;
+    private final boolean phaseSaving;
+    private final long seed;
+
+    private RestartPolicy(boolean enabled, boolean luby, long unit, double factor, boolean phaseSaving, long seed) {
+        this.enabled = enabled;
+        this.luby = luby;
+        this.unit = unit;
+        this.factor = factor;
+        this.phaseSaving = phaseSaving;
+        this.seed = seed;
+    }
+
+    public static RestartPolicy none() {
+        return new RestartPolicy(false, false, 0, 1.0, false, 0);
+    }
+
+    public static RestartPolicy luby() {
+        return luby(DEFAULT_UNIT);
+    }
+
+    public static RestartPolicy luby(long unit) {
+        return new RestartPolicy(true, true, unit, 1.0, true, 1);
+    }
+
+    public static RestartPolicy geometric(long first, double factor) {
+        return new RestartPolicy(true, false, first, factor, true, 1);
+    }
+
+    public RestartPolicy withPhaseSaving(boolean enabled) {
+        return new RestartPolicy(this.enabled, luby, unit, factor, enabled, seed);
+    }
+
+    public RestartPolicy withSeed(long seed) {
+        return new RestartPolicy(enabled, luby, unit, factor, phaseSaving, seed);
+    }
+
+    /** Nœuds accordés à la passe run (0 = première) ; Long.MAX_VALUE sans redémarrage. */
+    public long budget(int run) {
+        if (!enabled) {
+            return Long.MAX_VALUE;
+        }
+        if (luby) {
+            long steps = CdclSolver.luby(run);
+            return steps > Long.MAX_VALUE / unit ? Long.MAX_VALUE : unit * steps;
+        }
+        double nodes = unit * Math.pow(factor, run);
+        return nodes >= Long.MAX_VALUE ? Long.MAX_VALUE : (long) nodes;
+    }
+
+    public boolean isEnabled() { return enabled; }
+    public boolean isPhaseSaving() { return phaseSaving; }
+    public long getSeed() { return seed; }
+}
\ No newline at end of file
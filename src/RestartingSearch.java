@@ -0,0 +1,134 @@
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Recherche avec redémarrages : passes successives de SearchEngine depuis la même racine,
+ * chacune bornée par le budget de nœuds de la RestartPolicy. Les limites globales
+ * (SolveBudget, nombre de backtracks) portent sur l'ensemble des passes, les statistiques
+ * s'accumulent. Sans redémarrage, une seule passe sans borne : la recherche habituelle.
+ */
+class RestartingSearch {
+
+    private final Propagator root;
+    private final Supplier<BranchingHeuristic> heuristics;
+    private final RestartPolicy policy;
+    private final SolverStatistics stats;
+
+    private boolean backjumpingEnabled = true;
+    private SolveBudget budget = SolveBudget.unlimited();
+    private int maxBacktracks = Integer.MAX_VALUE;
+    // Partagée par toutes les passes : un état mort le reste après un redémarrage
+    private TranspositionTable table;
+    private Symmetry symmetry;
+    private AnytimeGrid anytime;
+    private SearchCheckpoint checkpoint;
+
+    // Dernière valeur connue de chaque case à la fin d'une passe (UNKNOWN = jamais vue)
+    private final byte[] phase;
+    private Propagator solution;
+
+    RestartingSearch(Propagator root, Supplier<BranchingHeuristic> heuristics, RestartPolicy policy,
+                     SolverStatistics stats) {
+        this.root = root;
+        this.heuristics = heuristics;
+        this.policy = policy;
+        this.stats = stats;
+        this.phase = new byte[root.getCellCount()];
+    }
+
+    void setBackjumpingEnabled(boolean enabled) {
+        this.backjumpingEnabled = enabled;
+    }
+
+    void setLimits(SolveBudget budget, int maxBacktracks) {
+        this.budget = budget;
+        this.maxBacktracks = maxBacktracks;
+    }
+
+    void setTranspositionTable(TranspositionTable table) {
+        this.table = table;
+    }
+
+    void setSymmetry(Symmetry symmetry) {
+        this.symmetry = symmetry;
+    }
+
+    void setAnytime(AnytimeGrid anytime) {
+        this.anytime = anytime;
+    }
+
+    void setCheckpoint(SearchCheckpoint checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+
+    SearchEngine.Status run() {
+        Random random = new Random(policy.getSeed());
+        for (int run = 0; ; run++) {
+            Propagator state = new Propagator(root);
+            state.enqueueAll();
+
+            BranchingHeuristic heuristic = heuristics.get();
+            if (run > 0) {
+                heuristic.setTieBreak(random);
+                if (policy.isPhaseSaving()) {
+                    heuristic = new PhaseHeuristic(heuristic);
+                }
+            }
+            SearchEngine engine = new SearchEngine(state, heuristic, stats);
+            engine.setBackjumpingEnabled(backjumpingEnabled);
+            engine.setLimits(budget, maxBacktracks);
+            engine.setTranspositionTable(table);
+            engine.setSymmetry(symmetry);
+            engine.setAnytime(anytime);
+            engine.setCheckpoint(checkpoint);
+
+            SearchEngine.Status status = engine.run(policy.budget(run));
+            if (status == SearchEngine.Status.SOLVED) {
+                solution = state;
+            }
+            if (status != SearchEngine.Status.RUNNING) {
+                return status;
+            }
+
+            // Passe épuisée : on garde les valeurs atteintes et on repart de la racine
+            for (int cell = 0; cell < phase.length; cell++) {
+                if (state.get(cell) != Propagator.UNKNOWN) {
+                    phase[cell] = state.get(cell);
+                }
+            }
+            stats.incrementRestarts();
+        }
+    }
+
+    Propagator getSolution() { return solution; }
+
+    // Première valeur = phase sauvegardée, sinon celle de l'heuristique
+    private class PhaseHeuristic implements BranchingHeuristic {
+
+        private final BranchingHeuristic base;
+
+        PhaseHeuristic(BranchingHeuristic base) {
+            this.base = base;
+        }
+
+        @Override
+        public int selectCell(Propagator propagator) {
+            return base.selectCell(propagator);
+        }
+
+        @Override
+        public byte firstValue(Propagator propagator, int cell) {
+            return phase[cell] != Propagator.UNKNOWN ? phase[cell] : base.firstValue(propagator, cell);
+        }
+
+        @Override
+        public int selectLine(Propagator propagator) {
+            return base.selectLine(propagator);
+        }
+
+        @Override
+        public LinePlacements linePlacements(Propagator propagator, int line) {
+            return base.linePlacements(propagator, line);
+        }
+    }
+}
\ No newline at end of file
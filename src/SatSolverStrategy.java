@@ -0,0 +1,214 @@
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.LinkedList;
+import java.util.Queue;
+
+/**
+ * Résolution par SAT : la grille est encodée en CNF (NonogramCnf) puis résolue
+ * par le moteur CDCL embarqué (CdclSolver), sans processus externe.
+ * La CNF peut aussi être exportée au format DIMACS pour comparer avec un solveur externe.
+ */
+public class SatSolverStrategy implements SolverStrategy {
+
+    private static final long MAX_TIME_MS = 120000;
+
+    private SolverStatistics stats;
+    private Nonogram nonogram;
+
+    private boolean stepByStepMode = false;
+    private boolean anytimeMode = false;
+    private Queue<CellChange> changeQueue;
+
+    private static class CellChange {
+        int row, col;
+        CellState state;
+        CellChange(int r, int c, CellState s) {
+            row = r; col = c; state = s;
+        }
+    }
+
+    public SatSolverStrategy() {
+        this.stats = new SolverStatistics();
+        this.changeQueue = new LinkedList<>();
+    }
+
+    @Override
+    public String getName() {
+        return "SAT Solver (CDCL)";
+    }
+
+    @Override
+    public SolverStatistics getStatistics() {
+        return stats;
+    }
+
+    @Override
+    public void resetStatistics() {
+        this.stats = new SolverStatistics();
+        this.changeQueue.clear();
+    }
+
+    @Override
+    public void setStepByStepMode(boolean enabled) {
+        this.stepByStepMode = enabled;
+        resetStatistics();
+    }
+
+    @Override
+    public void setAnytimeMode(boolean enabled) {
+        this.anytimeMode = enabled;
+    }
+
+    @Override
+    public boolean solve(Nonogram nonogram) {
+        return solve(nonogram, SolveBudget.ofTimeout(MAX_TIME_MS));
+    }
+
+    @Override
+    public boolean solve(Nonogram nonogram, SolveBudget budget) {
+        this.nonogram = nonogram;
+        if (!stepByStepMode) {
+            resetStatistics();
+        }
+
+        long startTime = System.currentTimeMillis();
+        int width = nonogram.getWidth();
+        int height = nonogram.getHeight();
+        int known = countDeterminedCells();
+
+        NonogramCnf cnf = NonogramCnf.encode(nonogram);
+        CdclSolver sat = cnf.toSolver();
+        int result = sat.solve(budget);
+
+        if (result == CdclSolver.SAT) {
+            for (int r = 0; r < height; r++) {
+                for (int c = 0; c < width; c++) {
+                    nonogram.setCell(r, c, sat.modelValue(cnf.cellVar(r, c)) ? CellState.FILLED : CellState.CROSSED);
+                }
+            }
+        } else if (result == CdclSolver.UNKNOWN && anytimeMode) {
+            writeRootDeductions(cnf, sat);
+        }
+
+        boolean solved = result == CdclSolver.SAT && nonogram.isSolved();
+
+        stats.setExecutionTimeMs(System.currentTimeMillis() - startTime);
+        stats.setSolved(solved);
+        stats.setTotalSteps((int) Math.min(Integer.MAX_VALUE, sat.getDecisions()));
+        stats.setBacktrackCount((int) Math.min(Integer.MAX_VALUE, sat.getConflicts()));
+        stats.setCellsSolvedByDeduction(known);
+        int determinedCells = countDeterminedCells();
+        stats.setCellsSolvedByGuessing(determinedCells - known);
+        stats.setCompletionPercentage((determinedCells * 100.0) / (width * height));
+
+        if (!solved) {
+            if (result == CdclSolver.UNSAT) {
+                stats.setErrorMessage("Contradiction détectée");
+            } else if (result == CdclSolver.SAT) {
+                stats.setErrorMessage("Grille incompatible avec les indices");
+            } else {
+                stats.setErrorMessage(budget.stopReason(sat.getDecisions()));
+            }
+        }
+
+        return solved;
+    }
+
+    // Budget épuisé : cases fixées sans décision par le solveur, complétées par la propagation des lignes
+    private void writeRootDeductions(NonogramCnf cnf, CdclSolver sat) {
+        Propagator state = Propagator.fromNonogram(nonogram);
+        for (int r = 0; r < nonogram.getHeight(); r++) {
+            for (int c = 0; c < nonogram.getWidth(); c++) {
+                int value = sat.rootValue(cnf.cellVar(r, c));
+                if (value != 0) {
+                    state.assign(r * nonogram.getWidth() + c, value > 0 ? Propagator.FILLED : Propagator.CROSSED);
+                }
+            }
+        }
+        state.enqueueAll();
+        if (state.propagate()) {
+            AnytimeGrid anytime = new AnytimeGrid(nonogram.getWidth(), nonogram.getHeight());
+            anytime.offer(state);
+            anytime.writeTo(nonogram);
+        }
+    }
+
+    /**
+     * Exporte la CNF de la grille au format DIMACS.
+     */
+    public void exportDimacs(Nonogram nonogram, String fileName) throws IOException {
+        try (Writer out = new FileWriter(fileName)) {
+            NonogramCnf.encode(nonogram).writeDimacs(out);
+        }
+    }
+
+    @Override
+    public boolean executeNextStep(Nonogram nonogram) {
+        this.nonogram = nonogram;
+
+        if (changeQueue.isEmpty() && stats.getTotalSteps() == 0) {
+            Nonogram copy = new Nonogram(nonogram.getWidth(), nonogram.getHeight(),
+                    nonogram.getClues(), nonogram.getSolution());
+            for (int r = 0; r < nonogram.getHeight(); r++) {
+                for (int c = 0; c < nonogram.getWidth(); c++) {
+                    copy.setCell(r, c, nonogram.getCell(r, c));
+                }
+            }
+
+            SatSolverStrategy solver = new SatSolverStrategy();
+            boolean solved = solver.solve(copy);
+            System.out.println(solved ? "✅ Copie résolue" : "❌ Échec");
+
+            for (int r = 0; r < nonogram.getHeight(); r++) {
+                for (int c = 0; c < nonogram.getWidth(); c++) {
+                    if (nonogram.getCell(r, c) != copy.getCell(r, c)) {
+                        changeQueue.add(new CellChange(r, c, copy.getCell(r, c)));
+                    }
+                }
+            }
+            if (changeQueue.isEmpty()) {
+                return false;
+            }
+        }
+
+        if (!changeQueue.isEmpty()) {
+            CellChange change = changeQueue.poll();
+            nonogram.setCell(change.row, change.col, change.state);
+            stats.incrementSteps();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean hasNextStep() {
+        return stepByStepMode && nonogram != null && !nonogram.isSolved()
+                && (stats.getTotalSteps() == 0 || !changeQueue.isEmpty());
+    }
+
+    @Override
+    public int getCurrentStep() {
+        return stats.getTotalSteps();
+    }
+
+    private int countDeterminedCells() {
+        int count = 0;
+        for (int r = 0; r < nonogram.getHeight(); r++) {
+            for (int c = 0; c < nonogram.getWidth(); c++) {
+                if (nonogram.getCell(r, c) != CellState.EMPTY) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    // Export DIMACS d'une grille d'exemple : java SatSolverStrategy [fichier.cnf]
+    public static void main(String[] args) throws IOException {
+        String fileName = args.length > 0 ? args[0] : "nonogram.cnf";
+        Nonogram puzzle = NonogramFactory.createSimple5x5();
+        new SatSolverStrategy().exportDimacs(puzzle, fileName);
+        System.out.println("📄 CNF exportée dans " + fileName);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,272 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sauvegarde périodique d'une recherche SearchEngine dans un fichier binaire : pile des
+ * décisions (case et valeur, ou ligne et placement, avec leurs ensembles de conflits),
+ * piste et grille. Le moteur ne fait que copier son état (quelques tableaux de la taille
+ * de la pile) ; l'écriture se fait sur un thread à part, dans un fichier temporaire
+ * renommé ensuite, de sorte qu'un arrêt brutal laisse toujours la dernière sauvegarde
+ * complète. Une sauvegarde encore en cours d'écriture fait sauter la suivante.
+ * La reprise rejoue les décisions depuis l'état de base (voir SearchEngine.restore).
+ */
+class SearchCheckpoint {
+
+    private static final int MAGIC = 0x4E47434B; // "NGCK"
+    private static final int VERSION = 1;
+    // Nœuds entre deux lectures de l'horloge
+    private static final int CHECK_EVERY = 1024;
+
+    private final Path file;
+    private final long intervalMs;
+    private final ExecutorService writer;
+    private final AtomicBoolean writing = new AtomicBoolean();
+
+    private boolean[] scope;
+    private int counter;
+    private long nextDue;
+    private volatile int written;
+    private int skipped;
+    private volatile IOException lastError;
+
+    SearchCheckpoint(Path file, long intervalMs) {
+        this.file = file;
+        this.intervalMs = intervalMs;
+        this.nextDue = System.currentTimeMillis() + intervalMs;
+        this.writer = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "checkpoint");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    // Cases de la composante recherchée (null = toute la grille), enregistrées avec la pile
+    void setScope(boolean[] scope) {
+        this.scope = scope;
+    }
+
+    /** Appelé à chaque nœud : une sauvegarde est lancée quand l'intervalle est écoulé. */
+    void tick(SearchEngine engine) {
+        if (++counter < CHECK_EVERY) {
+            return;
+        }
+        counter = 0;
+        long now = System.currentTimeMillis();
+        if (now < nextDue) {
+            return;
+        }
+        nextDue = now + intervalMs;
+        if (!writing.compareAndSet(false, true)) {
+            skipped++;
+            return;
+        }
+        Snapshot snapshot = engine.snapshot(scope);
+        writer.execute(() -> {
+            try {
+                write(snapshot);
+            } catch (IOException e) {
+                lastError = e;
+            } finally {
+                writing.set(false);
+            }
+        });
+    }
+
+    /** Sauvegarde immédiate (arrêt sur budget), après l'écriture éventuellement en cours. */
+    void saveNow(SearchEngine engine) {
+        Snapshot snapshot = engine.snapshot(scope);
+        while (!writing.compareAndSet(false, true)) {
+            Thread.onSpinWait();
+        }
+        try {
+            write(snapshot);
+        } catch (IOException e) {
+            lastError = e;
+        } finally {
+            writing.set(false);
+        }
+    }
+
+    void close() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Recherche terminée (solution ou épuisement) : la sauvegarde n'a plus d'usage
+    void delete() throws IOException {
+        close();
+        Files.deleteIfExists(file);
+    }
+
+    private void write(Snapshot snapshot) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            snapshot.writeTo(out);
+        }
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        written++;
+    }
+
+    static Snapshot read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            return Snapshot.readFrom(in);
+        }
+    }
+
+    // Empreinte des indices : une sauvegarde ne se reprend que sur la même grille
+    static long fingerprint(Propagator propagator) {
+        long hash = 1125899906842597L;
+        for (int line = 0; line < propagator.getLineCount(); line++) {
+            hash = 31 * hash + line;
+            for (int block : propagator.getBlocks(line)) {
+                hash = 31 * hash + block;
+            }
+        }
+        return hash;
+    }
+
+    int getWritten() { return written; }
+    int getSkipped() { return skipped; }
+    IOException getLastError() { return lastError; }
+
+    /** Copie de l'état d'un SearchEngine, indépendante du moteur qui continue. */
+    static class Snapshot {
+        int width;
+        int height;
+        long fingerprint;
+        long nodes;
+        int backtracks;
+        long solutions;
+        int protectedDepth;
+        // Piste complète ; les baseSize premières cases forment l'état de base de la recherche
+        int[] trail;
+        int baseSize;
+        byte[] cells;
+        boolean[] scope;
+        int depth;
+        int[] frameLine;
+        int[] frameCell;
+        byte[] frameValue;
+        int[] frameBranch;
+        int[] frameBranchCount;
+        long[] frameSolutions;
+        long[][] frameConflict;
+
+        void writeTo(DataOutputStream out) throws IOException {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(width);
+            out.writeInt(height);
+            out.writeLong(fingerprint);
+            out.writeLong(nodes);
+            out.writeInt(backtracks);
+            out.writeLong(solutions);
+            out.writeInt(protectedDepth);
+            out.write(cells);
+            out.writeInt(trail.length);
+            out.writeInt(baseSize);
+            for (int cell : trail) {
+                out.writeInt(cell);
+            }
+            out.writeBoolean(scope != null);
+            if (scope != null) {
+                for (int i = 0; i < scope.length; i += 8) {
+                    int bits = 0;
+                    for (int b = 0; b < 8 && i + b < scope.length; b++) {
+                        if (scope[i + b]) bits |= 1 << b;
+                    }
+                    out.writeByte(bits);
+                }
+            }
+            out.writeInt(depth);
+            for (int f = 0; f < depth; f++) {
+                out.writeInt(frameLine[f]);
+                out.writeInt(frameCell[f]);
+                out.writeByte(frameValue[f]);
+                out.writeInt(frameBranch[f]);
+                out.writeInt(frameBranchCount[f]);
+                out.writeLong(frameSolutions[f]);
+                long[] conflict = frameConflict[f];
+                out.writeInt(conflict == null ? -1 : conflict.length);
+                if (conflict != null) {
+                    for (long word : conflict) {
+                        out.writeLong(word);
+                    }
+                }
+            }
+        }
+
+        static Snapshot readFrom(DataInputStream in) throws IOException {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Format de sauvegarde inconnu");
+            }
+            Snapshot s = new Snapshot();
+            s.width = in.readInt();
+            s.height = in.readInt();
+            s.fingerprint = in.readLong();
+            s.nodes = in.readLong();
+            s.backtracks = in.readInt();
+            s.solutions = in.readLong();
+            s.protectedDepth = in.readInt();
+            s.cells = new byte[s.width * s.height];
+            in.readFully(s.cells);
+            s.trail = new int[in.readInt()];
+            s.baseSize = in.readInt();
+            for (int i = 0; i < s.trail.length; i++) {
+                s.trail[i] = in.readInt();
+            }
+            if (in.readBoolean()) {
+                s.scope = new boolean[s.cells.length];
+                for (int i = 0; i < s.scope.length; i += 8) {
+                    int bits = in.readUnsignedByte();
+                    for (int b = 0; b < 8 && i + b < s.scope.length; b++) {
+                        s.scope[i + b] = (bits & (1 << b)) != 0;
+                    }
+                }
+            }
+            s.depth = in.readInt();
+            s.frameLine = new int[s.depth];
+            s.frameCell = new int[s.depth];
+            s.frameValue = new byte[s.depth];
+            s.frameBranch = new int[s.depth];
+            s.frameBranchCount = new int[s.depth];
+            s.frameSolutions = new long[s.depth];
+            s.frameConflict = new long[s.depth][];
+            for (int f = 0; f < s.depth; f++) {
+                s.frameLine[f] = in.readInt();
+                s.frameCell[f] = in.readInt();
+                s.frameValue[f] = in.readByte();
+                s.frameBranch[f] = in.readInt();
+                s.frameBranchCount[f] = in.readInt();
+                s.frameSolutions[f] = in.readLong();
+                int words = in.readInt();
+                if (words >= 0) {
+                    s.frameConflict[f] = new long[words];
+                    for (int w = 0; w < words; w++) {
+                        s.frameConflict[f][w] = in.readLong();
+                    }
+                }
+            }
+            return s;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,402 @@
+import java.util.BitSet;
+
+/**
+ * Recherche itérative par décisions et propagation, sur une pile explicite :
+ * aucune récursion, donc pas de débordement de pile sur les grandes grilles, et la
+ * recherche peut être suspendue et reprise à n'importe quel nœud (step / run).
+ * Chaque cadre de la pile garde la décision (une case et sa première valeur, ou une ligne
+ * et ses placements), la branche en cours et la marque de la piste du Propagator.
+ * Le retour arrière dirigé par les conflits (sauts vers la décision la plus profonde
+ * en cause) est optionnel.
+ */
+class SearchEngine {
+
+    enum Status { RUNNING, SOLVED, EXHAUSTED, ABORTED }
+
+    private final Propagator propagator;
+    private final BranchingHeuristic heuristic;
+    private final SolverStatistics stats;
+
+    private boolean backjumpingEnabled = true;
+    private SolveBudget budget = SolveBudget.unlimited();
+    private int maxBacktracks = Integer.MAX_VALUE;
+    private TranspositionTable table;
+    private Symmetry symmetry;
+    private AnytimeGrid anytime;
+    private SearchCheckpoint checkpoint;
+
+    // Pile des décisions : case (frameLine = -1) ou ligne fixée placement par placement
+    private final int[] frameCell;
+    private final byte[] frameValue;
+    private final int[] frameLine;
+    private final LinePlacements[] framePlacements;
+    private final int[] frameMark;
+    private final int[] frameBranch;
+    private final BitSet[] frameConflict;
+    // Cadre de ligne : décisions dont dépendent les cases déjà connues de la ligne. Ses
+    // placements ne couvrent tous les cas que sous ces cases, qui font donc partie de la
+    // cause quand tous échouent
+    private final BitSet[] frameReason;
+    // Hachage de l'état du cadre et solutions trouvées avant lui (état mort = aucune en dessous)
+    private final long[] frameHash;
+    private final long[] frameSolutions;
+    private int depth;
+
+    // Cadres au-dessus d'une solution déjà trouvée : pas de saut par-dessus
+    private int protectedDepth;
+
+    private Status status = Status.RUNNING;
+    private long solutions;
+
+    SearchEngine(Propagator propagator, BranchingHeuristic heuristic, SolverStatistics stats) {
+        this.propagator = propagator;
+        this.heuristic = heuristic;
+        this.stats = stats;
+
+        int cells = propagator.getCellCount();
+        this.frameCell = new int[cells];
+        this.frameValue = new byte[cells];
+        this.frameLine = new int[cells];
+        this.framePlacements = new LinePlacements[cells];
+        this.frameMark = new int[cells];
+        this.frameBranch = new int[cells];
+        this.frameConflict = new BitSet[cells];
+        this.frameReason = new BitSet[cells];
+        this.frameHash = new long[cells];
+        this.frameSolutions = new long[cells];
+    }
+
+    void setBackjumpingEnabled(boolean enabled) {
+        this.backjumpingEnabled = enabled;
+    }
+
+    void setLimits(SolveBudget budget, int maxBacktracks) {
+        this.budget = budget;
+        this.maxBacktracks = maxBacktracks;
+    }
+
+    void setTranspositionTable(TranspositionTable table) {
+        this.table = table;
+    }
+
+    // Seules les solutions minimales de leur orbite sont produites (voir Symmetry)
+    void setSymmetry(Symmetry symmetry) {
+        this.symmetry = symmetry;
+    }
+
+    // Chaque état cohérent est offert comme meilleur résultat partiel
+    void setAnytime(AnytimeGrid anytime) {
+        this.anytime = anytime;
+    }
+
+    // Sauvegarde périodique de la pile ; une dernière sauvegarde est écrite à l'arrêt sur budget
+    void setCheckpoint(SearchCheckpoint checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+
+    /**
+     * Traite un nœud : propagation, puis décision, solution ou retour arrière.
+     * Appelé après une solution, reprend la recherche vers la suivante.
+     */
+    Status step() {
+        if (status == Status.SOLVED) {
+            status = Status.RUNNING;
+            protectedDepth = depth;
+            backtrack(chronological(depth));
+            return status;
+        }
+        if (status != Status.RUNNING) {
+            return status;
+        }
+
+        stats.incrementSteps();
+        if (budget.shouldStop(stats.getTotalSteps()) || stats.getBacktrackCount() > maxBacktracks) {
+            status = Status.ABORTED;
+            if (checkpoint != null) {
+                checkpoint.saveNow(this);
+            }
+            return status;
+        }
+        if (checkpoint != null) {
+            checkpoint.tick(this);
+        }
+
+        if (!propagator.propagate()) {
+            stats.incrementBacktracks();
+            backtrack(conflictSet(propagator.getConflictLine()));
+            return status;
+        }
+        if (anytime != null) {
+            anytime.offer(propagator);
+        }
+
+        // État déjà prouvé sans solution par un autre ordre de décisions
+        if (table != null && !propagator.isComplete() && table.isDead(propagator.getHash())) {
+            stats.incrementBacktracks();
+            backtrack(chronological(depth));
+            return status;
+        }
+
+        if (symmetry != null && symmetry.violates(propagator)) {
+            stats.incrementSymmetryPrunes();
+            stats.incrementBacktracks();
+            backtrack(chronological(depth));
+            return status;
+        }
+
+        int line = propagator.isComplete() ? -1 : heuristic.selectLine(propagator);
+        int cell = line >= 0 || propagator.isComplete() ? -1 : heuristic.selectCell(propagator);
+        if (line < 0 && cell < 0) {
+            solutions++;
+            status = Status.SOLVED;
+            return status;
+        }
+
+        frameLine[depth] = line;
+        if (line >= 0) {
+            framePlacements[depth] = heuristic.linePlacements(propagator, line);
+            frameReason[depth] = lineReason(line);
+        } else {
+            frameReason[depth] = null;
+            frameCell[depth] = cell;
+            frameValue[depth] = heuristic.firstValue(propagator, cell);
+        }
+        frameMark[depth] = propagator.mark();
+        frameHash[depth] = propagator.getHash();
+        frameSolutions[depth] = solutions;
+        frameBranch[depth] = 0;
+        frameConflict[depth] = null;
+        depth++;
+        applyBranch(depth - 1);
+        return status;
+    }
+
+    private void applyBranch(int frame) {
+        int line = frameLine[frame];
+        if (line < 0) {
+            byte value = frameBranch[frame] == 0 ? frameValue[frame] : opposite(frameValue[frame]);
+            propagator.assign(frameCell[frame], value);
+            return;
+        }
+        // Les placements respectent les cases connues : seules les inconnues changent
+        LinePlacements placements = framePlacements[frame];
+        int index = frameBranch[frame];
+        for (int i = 0; i < propagator.lineLength(line); i++) {
+            propagator.assign(propagator.lineCell(line, i),
+                    placements.isFilled(index, i) ? Propagator.FILLED : Propagator.CROSSED);
+        }
+    }
+
+    private int branchCount(int frame) {
+        return frameLine[frame] < 0 ? 2 : framePlacements[frame].size();
+    }
+
+    /** Avance jusqu'à la fin de la recherche, une solution, ou au plus maxNodes nœuds. */
+    Status run(long maxNodes) {
+        for (long n = 0; n < maxNodes; n++) {
+            if (step() != Status.RUNNING) {
+                break;
+            }
+        }
+        return status;
+    }
+
+    Status run() {
+        return run(Long.MAX_VALUE);
+    }
+
+    // Dépile jusqu'à une décision en cause dont l'autre valeur reste à essayer
+    private void backtrack(BitSet conflict) {
+        while (depth > 0) {
+            int top = depth - 1;
+            propagator.undo(frameMark[top]);
+            if (top < protectedDepth) {
+                conflict.set(0, top + 1);
+            }
+
+            boolean lastBranch = frameBranch[top] + 1 >= branchCount(top);
+            if (conflict.get(top)) {
+                if (frameConflict[top] == null) {
+                    frameConflict[top] = conflict;
+                } else {
+                    frameConflict[top].or(conflict);
+                }
+                if (!lastBranch) {
+                    frameBranch[top]++;
+                    applyBranch(top);
+                    return;
+                }
+                // Toutes les branches échouent : la cause est l'union de leurs causes, sans cette
+                // décision, et pour une ligne les décisions qui ont restreint ses placements
+                conflict = frameConflict[top];
+                if (frameReason[top] != null) {
+                    conflict.or(frameReason[top]);
+                }
+                conflict.clear(top);
+                recordJump(conflict, top);
+            } else if (!lastBranch) {
+                // Échec indépendant de cette décision : les autres branches échoueraient de la même façon
+                stats.incrementNodesSaved();
+            }
+
+            if (table != null && solutions == frameSolutions[top]) {
+                table.storeDead(frameHash[top], propagator.getCellCount() - frameMark[top]);
+            }
+            frameConflict[top] = null;
+            frameReason[top] = null;
+            framePlacements[top] = null;
+            depth = top;
+            protectedDepth = Math.min(protectedDepth, depth);
+        }
+        status = Status.EXHAUSTED;
+    }
+
+    // Décisions dont dépendent les cases connues de la ligne en contradiction
+    private BitSet conflictSet(int line) {
+        if (!backjumpingEnabled) {
+            return chronological(depth);
+        }
+        BitSet conflict = decisionsBehind(line);
+        recordJump(conflict, depth);
+        return conflict;
+    }
+
+    // Décisions (cadres sous depth) à l'origine des cases connues de la ligne
+    private BitSet decisionsBehind(int line) {
+        BitSet decisions = new BitSet();
+        BitSet roots = propagator.explain(line);
+        for (int p = roots.nextSetBit(0); p >= 0; p = roots.nextSetBit(p + 1)) {
+            int frame = decisionAt(p);
+            if (frame >= 0) {
+                decisions.set(frame);
+            }
+        }
+        return decisions;
+    }
+
+    private BitSet lineReason(int line) {
+        return backjumpingEnabled ? decisionsBehind(line) : null;
+    }
+
+    // Décision qui a posé la position p de la piste : dernier cadre dont la marque est <= p
+    private int decisionAt(int p) {
+        int lo = 0;
+        int hi = depth - 1;
+        int found = -1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (frameMark[mid] <= p) {
+                found = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    private static BitSet chronological(int depth) {
+        BitSet all = new BitSet();
+        all.set(0, depth);
+        return all;
+    }
+
+    // Saut au-delà de la décision précédente (depth - 1) : distance = niveaux sautés
+    private void recordJump(BitSet conflict, int fromDepth) {
+        int distance = fromDepth - conflict.length();
+        if (distance > 0) {
+            stats.recordBackjump(distance);
+        }
+    }
+
+    // Copie de l'état entre deux nœuds, pour SearchCheckpoint
+    SearchCheckpoint.Snapshot snapshot(boolean[] scope) {
+        SearchCheckpoint.Snapshot s = new SearchCheckpoint.Snapshot();
+        s.width = propagator.getWidth();
+        s.height = propagator.getHeight();
+        s.fingerprint = SearchCheckpoint.fingerprint(propagator);
+        s.nodes = stats.getTotalSteps();
+        s.backtracks = stats.getBacktrackCount();
+        s.solutions = solutions;
+        s.protectedDepth = protectedDepth;
+        s.cells = new byte[propagator.getCellCount()];
+        propagator.copyCellsTo(s.cells);
+        s.trail = new int[propagator.getDeterminedCount()];
+        for (int p = 0; p < s.trail.length; p++) {
+            s.trail[p] = propagator.trailAt(p);
+        }
+        s.baseSize = depth > 0 ? frameMark[0] : s.trail.length;
+        s.scope = scope;
+        s.depth = depth;
+        s.frameLine = java.util.Arrays.copyOf(frameLine, depth);
+        s.frameCell = java.util.Arrays.copyOf(frameCell, depth);
+        s.frameValue = java.util.Arrays.copyOf(frameValue, depth);
+        s.frameBranch = java.util.Arrays.copyOf(frameBranch, depth);
+        s.frameSolutions = java.util.Arrays.copyOf(frameSolutions, depth);
+        s.frameBranchCount = new int[depth];
+        s.frameConflict = new long[depth][];
+        for (int f = 0; f < depth; f++) {
+            s.frameBranchCount[f] = branchCount(f);
+            s.frameConflict[f] = frameConflict[f] == null ? null : frameConflict[f].toLongArray();
+        }
+        return s;
+    }
+
+    /**
+     * Reprend une recherche sauvegardée sur ce moteur neuf (Propagator sans affectation) :
+     * l'état de base est rechargé, puis chaque décision de la pile est rejouée après
+     * propagation, comme step() l'avait posée. Retourne false si la sauvegarde ne
+     * correspond pas à la grille.
+     */
+    boolean restore(SearchCheckpoint.Snapshot s) {
+        if (s.width != propagator.getWidth() || s.height != propagator.getHeight()
+                || s.fingerprint != SearchCheckpoint.fingerprint(propagator) || depth != 0) {
+            return false;
+        }
+        for (int p = 0; p < s.baseSize; p++) {
+            int cell = s.trail[p];
+            if (!propagator.assign(cell, s.cells[cell])) {
+                return false;
+            }
+        }
+        for (int f = 0; f < s.depth; f++) {
+            if (!propagator.propagate()) {
+                return false;
+            }
+            frameLine[f] = s.frameLine[f];
+            if (frameLine[f] >= 0) {
+                // Placements recalculés sur le même état : même liste, même ordre
+                framePlacements[f] = heuristic.linePlacements(propagator, frameLine[f]);
+                if (framePlacements[f].size() != s.frameBranchCount[f]) {
+                    return false;
+                }
+                frameReason[f] = lineReason(frameLine[f]);
+            } else {
+                frameCell[f] = s.frameCell[f];
+                frameValue[f] = s.frameValue[f];
+            }
+            frameMark[f] = propagator.mark();
+            frameHash[f] = propagator.getHash();
+            frameSolutions[f] = s.frameSolutions[f];
+            frameBranch[f] = s.frameBranch[f];
+            frameConflict[f] = s.frameConflict[f] == null ? null : BitSet.valueOf(s.frameConflict[f]);
+            depth = f + 1;
+            applyBranch(f);
+        }
+        protectedDepth = s.protectedDepth;
+        solutions = s.solutions;
+        status = Status.RUNNING;
+        stats.setTotalSteps((int) s.nodes);
+        stats.setBacktrackCount(s.backtracks);
+        return true;
+    }
+
+    private static byte opposite(byte value) {
+        return value == Propagator.FILLED ? Propagator.CROSSED : Propagator.FILLED;
+    }
+
+    Status getStatus() { return status; }
+    int getDepth() { return depth; }
+    long getSolutions() { return solutions; }
+    Propagator getPropagator() { return propagator; }
+}
\ No newline at end of file
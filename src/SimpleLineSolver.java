@@ -1,8 +1,8 @@
-import java.util.*;
-
-
 public class SimpleLineSolver implements SolverStrategy {
 
+	// En dessous de cette taille, le lancement des threads coûte plus qu'il ne rapporte
+	private static final int CONCURRENT_MIN_CELLS = 10000;
+
 	private SolverStatistics stats;
 	private Nonogram nonogram;
 	private int width;
@@ -11,6 +11,8 @@ public class SimpleLineSolver implements SolverStrategy {
 	private int currentRow = 0;
 	private int currentCol = 0;
 	private boolean processingRows = true;
+	private LinePlacements[] lineStores;
+	private int concurrentThreads = 0;
 
 	public SimpleLineSolver() {
 		this.stats = new SolverStatistics();
@@ -40,8 +42,18 @@ public class SimpleLineSolver implements SolverStrategy {
 		resetStatistics();
 	}
 
+	// Moteur concurrent pour les très grandes grilles (0 ou 1 = désactivé)
+	public void setConcurrentEngine(int threads) {
+		this.concurrentThreads = threads;
+	}
+
 	@Override
 	public boolean solve(Nonogram nonogram) {
+		return solve(nonogram, SolveBudget.unlimited());
+	}
+
+	@Override
+	public boolean solve(Nonogram nonogram, SolveBudget budget) {
 		resetStatistics();
 		this.nonogram = nonogram;
 		this.width = nonogram.getWidth();
@@ -53,28 +65,39 @@ public class SimpleLineSolver implements SolverStrategy {
 			return false;
 		}
 
+		if (concurrentThreads > 1 && width * height >= CONCURRENT_MIN_CELLS) {
+			return solveConcurrent(startTime, budget);
+		}
+
+		this.lineStores = new LinePlacements[height + width];
+
 		boolean progress = true;
 		int iterationCount = 0;
 		int maxIterations = 100;
 
-		while (progress && iterationCount < maxIterations && !nonogram.isSolved()) {
+		boolean stopped = false;
+		while (progress && iterationCount < maxIterations && !nonogram.isSolved() && !stopped) {
 			progress = false;
 			iterationCount++;
 			stats.incrementSteps();
 
-			for (int row = 0; row < height; row++) {
+			for (int row = 0; row < height && !stopped; row++) {
 				if (solveRow(row)) {
 					progress = true;
 				}
+				stopped = budget.shouldStop(stats.getTotalSteps());
 			}
 
-			for (int col = 0; col < width; col++) {
+			for (int col = 0; col < width && !stopped; col++) {
 				if (solveColumn(col)) {
 					progress = true;
 				}
+				stopped = budget.shouldStop(stats.getTotalSteps());
 			}
 		}
 
+		this.lineStores = null;
+
 		long endTime = System.currentTimeMillis();
 		stats.setExecutionTimeMs(endTime - startTime);
 
@@ -87,6 +110,34 @@ public class SimpleLineSolver implements SolverStrategy {
 		stats.setCellsSolvedByDeduction(filledCells);
 
 		if (!solved) {
+			stats.setErrorMessage(stopped ? budget.stopReason(stats.getTotalSteps())
+					: "Bloqué - nécessite du backtracking");
+		}
+
+		return solved;
+	}
+
+	private boolean solveConcurrent(long startTime, SolveBudget budget) {
+		ConcurrentPropagator engine = new ConcurrentPropagator(nonogram.getClues(), width, height);
+		engine.load(nonogram);
+		boolean consistent = engine.propagate(concurrentThreads, budget);
+		engine.writeTo(nonogram);
+
+		stats.setTotalSteps((int) engine.getLineSolves());
+		stats.setExecutionTimeMs(System.currentTimeMillis() - startTime);
+
+		boolean solved = consistent && nonogram.isSolved();
+		stats.setSolved(solved);
+
+		int filledCells = countFilledCells();
+		stats.setCompletionPercentage((filledCells * 100.0) / (width * height));
+		stats.setCellsSolvedByDeduction(filledCells);
+
+		if (!consistent) {
+			stats.setErrorMessage("Contradiction détectée");
+		} else if (engine.isStopped()) {
+			stats.setErrorMessage(budget.stopReason(engine.getLineSolves()));
+		} else if (!solved) {
 			stats.setErrorMessage("Bloqué - nécessite du backtracking");
 		}
 
@@ -139,39 +190,13 @@ public class SimpleLineSolver implements SolverStrategy {
 		CellState[] currentLine = getRow(row);
 		int[] clue = nonogram.getClues().getRowClues()[row];
 
-		List<CellState[]> possibleSolutions = generatePossibleLines(clue, width, currentLine);
+		LinePlacements possibleSolutions = getPlacements(row, clue, width, currentLine);
 
 		if (possibleSolutions.isEmpty()) {
 			return false;
 		}
 
-		boolean modified = false;
-
-		
-		for (int col = 0; col < width; col++) {
-			if (currentLine[col] != CellState.EMPTY) {
-				continue; 
-			}
-
-			CellState first = possibleSolutions.get(0)[col];
-			boolean allSame = true;
-
-			for (int i = 1; i < possibleSolutions.size(); i++) {
-				if (possibleSolutions.get(i)[col] != first) {
-					allSame = false;
-					break;
-				}
-			}
-
-			
-			if (allSame) {
-				nonogram.setCell(row, col, first);
-				modified = true;
-				stats.incrementDeductionCells();
-			}
-		}
-
-		return modified;
+		return applyPlacements(possibleSolutions, currentLine, row, true);
 	}
 
 	
@@ -179,32 +204,40 @@ public class SimpleLineSolver implements SolverStrategy {
 		CellState[] currentColumn = getColumn(col);
 		int[] clue = nonogram.getClues().getColClues()[col];
 
-		List<CellState[]> possibleSolutions = generatePossibleLines(clue, height, currentColumn);
+		LinePlacements possibleSolutions = getPlacements(height + col, clue, height, currentColumn);
 
 		if (possibleSolutions.isEmpty()) {
 			return false;
 		}
 
+		return applyPlacements(possibleSolutions, currentColumn, col, false);
+	}
+
+	// Une case vide commune à tous les placements est déduite
+	private boolean applyPlacements(LinePlacements placements, CellState[] current, int index, boolean isRow) {
+		long[] alwaysFilled = placements.commonFilled();
+		long[] sometimesFilled = placements.anyFilled();
 		boolean modified = false;
 
-		for (int row = 0; row < height; row++) {
-			if (currentColumn[row] != CellState.EMPTY) {
+		for (int i = 0; i < current.length; i++) {
+			if (current[i] != CellState.EMPTY) {
 				continue;
 			}
 
-			CellState first = possibleSolutions.get(0)[row];
-			boolean allSame = true;
-
-			for (int i = 1; i < possibleSolutions.size(); i++) {
-				if (possibleSolutions.get(i)[row] != first) {
-					allSame = false;
-					break;
-				}
+			long bit = 1L << i;
+			CellState deduced = null;
+			if ((alwaysFilled[i >>> 6] & bit) != 0) {
+				deduced = CellState.FILLED;
+			} else if ((sometimesFilled[i >>> 6] & bit) == 0) {
+				deduced = CellState.CROSSED;
 			}
 
-			
-			if (allSame) {
-				nonogram.setCell(row, col, first);
+			if (deduced != null) {
+				if (isRow) {
+					nonogram.setCell(index, i, deduced);
+				} else {
+					nonogram.setCell(i, index, deduced);
+				}
 				modified = true;
 				stats.incrementDeductionCells();
 			}
@@ -213,95 +246,22 @@ public class SimpleLineSolver implements SolverStrategy {
 		return modified;
 	}
 
-	
-	private List<CellState[]> generatePossibleLines(int[] clue, int length, CellState[] current) {
-		List<CellState[]> results = new ArrayList<>();
-
-		
-		if (clue.length == 0 || (clue.length == 1 && clue[0] == 0)) {
-			CellState[] line = new CellState[length];
-			Arrays.fill(line, CellState.CROSSED); 
-			if (isCompatible(line, current)) {
-				results.add(line);
-			}
-			return results;
+	// Pendant solve() la grille ne fait que se compléter : les placements de chaque
+	// ligne sont générés une fois puis filtrés en place à chaque passe.
+	private LinePlacements getPlacements(int line, int[] clue, int length, CellState[] current) {
+		if (lineStores == null) {
+			return LinePlacements.generate(clue, length, current);
 		}
-
-		
-		generateLinesRecursiveCorrect(clue, length, 0, 0, new CellState[length], current, results);
-
-		return results;
-	}
-
-	private void generateLinesRecursiveCorrect(int[] clue, int length, int pos, int clueIndex,
-			CellState[] line, CellState[] current,
-			List<CellState[]> results) {
-		
-		if (clueIndex >= clue.length) {
-			
-			for (int i = pos; i < length; i++) {
-				line[i] = CellState.CROSSED;
-			}
-
-			
-			if (isCompatible(line, current)) {
-				results.add(line.clone());
-			}
-			return;
-		}
-
-		int blockSize = clue[clueIndex];
-
-		
-		int minSpace = blockSize;
-		for (int i = clueIndex + 1; i < clue.length; i++) {
-			minSpace += 1 + clue[i]; // 1 espace entre les blocs
-		}
-
-		
-		for (int start = pos; start <= length - minSpace; start++) {
-			
-			for (int i = pos; i < start; i++) {
-				line[i] = CellState.CROSSED;
-			}
-
-			
-			for (int i = start; i < start + blockSize; i++) {
-				line[i] = CellState.FILLED;
-			}
-
-			
-			int nextPos = start + blockSize;
-
-			
-			if (clueIndex < clue.length - 1) {
-				if (nextPos < length) {
-					line[nextPos] = CellState.CROSSED;
-					nextPos++;
-				}
-			}
-
-			
-			generateLinesRecursiveCorrect(clue, length, nextPos, clueIndex + 1, line, current, results);
+		LinePlacements store = lineStores[line];
+		if (store == null) {
+			store = LinePlacements.generate(clue, length, current);
+			lineStores[line] = store;
+		} else {
+			store.filter(current);
 		}
+		return store;
 	}
 
-
-private boolean isCompatible(CellState[] generated, CellState[] current) {
-    for (int i = 0; i < generated.length; i++) {
-        
-        if (current[i] == CellState.FILLED && generated[i] != CellState.FILLED) {
-            return false;
-        }
-      
-        if (current[i] == CellState.CROSSED && generated[i] != CellState.CROSSED) {
-            return false;
-        }
-      
-    }
-    return true;
-}
-
 	
 
 	private CellState[] getRow(int row) {
@@ -0,0 +1,177 @@
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Énumération paresseuse de toutes les solutions d'une grille, par propagation et
+ * branchement (SearchEngine reprend la recherche après chaque solution). Une solution
+ * n'est calculée que lorsque le consommateur la demande : la mémoire reste celle d'une
+ * recherche, quel que soit le nombre de solutions. Le Spliterator se découpe en sous-arbres
+ * tant que la recherche n'a pas commencé, ce qui permet l'énumération par un flux parallèle.
+ */
+public class SolutionEnumerator {
+
+    // En dessous, un sous-arbre ne vaut pas d'être découpé
+    private static final int DEFAULT_SPLIT_CUTOFF = 48;
+
+    private final Propagator root;
+    private final Supplier<BranchingHeuristic> heuristics;
+    private SolveBudget budget = SolveBudget.unlimited();
+    private int splitCutoff = DEFAULT_SPLIT_CUTOFF;
+    private volatile boolean aborted;
+
+    public SolutionEnumerator(LineClues clues, int width, int height) {
+        this(new Propagator(clues, width, height));
+    }
+
+    // Les cases déjà connues de la grille sont respectées
+    public SolutionEnumerator(Nonogram nonogram) {
+        this(Propagator.fromNonogram(nonogram));
+    }
+
+    private SolutionEnumerator(Propagator root) {
+        this.root = root;
+        this.heuristics = AIHeuristicStrategy.MrvHeuristic::new;
+    }
+
+    public void setBudget(SolveBudget budget) {
+        this.budget = budget;
+    }
+
+    public void setSplitCutoff(int unknownCells) {
+        this.splitCutoff = unknownCells;
+    }
+
+    // Vrai si une énumération s'est arrêtée sur le budget : les solutions fournies sont alors partielles
+    public boolean isAborted() {
+        return aborted;
+    }
+
+    /** Flux des solutions, calculées à la demande ; limit() borne la recherche elle-même. */
+    public Stream<CellState[][]> stream() {
+        return stream(false);
+    }
+
+    public Stream<CellState[][]> stream(boolean parallel) {
+        aborted = false;
+        return StreamSupport.stream(new SubtreeSpliterator(new Propagator(root)), parallel);
+    }
+
+    /** Passe au plus limit solutions au consommateur ; retourne le nombre de solutions passées. */
+    public long forEach(Consumer<CellState[][]> consumer, long limit) {
+        aborted = false;
+        Spliterator<CellState[][]> solutions = new SubtreeSpliterator(new Propagator(root));
+        long count = 0;
+        while (count < limit && solutions.tryAdvance(consumer)) {
+            count++;
+        }
+        return count;
+    }
+
+    public long count(long limit) {
+        return forEach(solution -> { }, limit);
+    }
+
+    private static CellState[][] toGrid(Propagator state) {
+        CellState[][] grid = new CellState[state.getHeight()][state.getWidth()];
+        for (int r = 0; r < grid.length; r++) {
+            for (int c = 0; c < grid[r].length; c++) {
+                grid[r][c] = state.get(r, c) == Propagator.FILLED ? CellState.FILLED : CellState.EMPTY;
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * Sous-arbre de la recherche. Tant qu'aucune solution n'a été demandée, trySplit fixe
+     * une case de l'état (la première valeur reste ici, l'autre part dans le nouveau
+     * Spliterator) ; ensuite le sous-arbre est parcouru par un SearchEngine.
+     */
+    private class SubtreeSpliterator extends Spliterators.AbstractSpliterator<CellState[][]> {
+
+        private final Propagator state;
+        private SearchEngine engine;
+        private boolean done;
+
+        SubtreeSpliterator(Propagator state) {
+            super(Long.MAX_VALUE, NONNULL | IMMUTABLE | DISTINCT);
+            this.state = state;
+            state.enqueueAll();
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super CellState[][]> action) {
+            if (done) {
+                return false;
+            }
+            if (engine == null) {
+                engine = new SearchEngine(state, heuristics.get(), new SolverStatistics());
+                engine.setLimits(budget, Integer.MAX_VALUE);
+            }
+            SearchEngine.Status status = engine.run();
+            if (status != SearchEngine.Status.SOLVED) {
+                aborted |= status == SearchEngine.Status.ABORTED;
+                done = true;
+                return false;
+            }
+            action.accept(toGrid(state));
+            return true;
+        }
+
+        @Override
+        public Spliterator<CellState[][]> trySplit() {
+            if (engine != null || done) {
+                return null;
+            }
+            if (!state.propagate()) {
+                done = true;
+                return null;
+            }
+            if (state.getCellCount() - state.getDeterminedCount() <= splitCutoff) {
+                return null;
+            }
+            BranchingHeuristic heuristic = heuristics.get();
+            int cell = heuristic.selectCell(state);
+            if (cell < 0) {
+                return null;
+            }
+            byte first = heuristic.firstValue(state, cell);
+            Propagator other = new Propagator(state);
+            other.assign(cell, first == Propagator.FILLED ? Propagator.CROSSED : Propagator.FILLED);
+            state.assign(cell, first);
+            return new SubtreeSpliterator(other);
+        }
+    }
+
+    // Nombre de solutions de grilles aléatoires ambiguës, séquentiel puis parallèle :
+    // java SolutionEnumerator [taille] [grilles] [limite]
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 12;
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        long limit = args.length > 2 ? Long.parseLong(args[2]) : 100000;
+        java.util.Random random = new java.util.Random(7);
+
+        for (int i = 0; i < count; i++) {
+            CellState[][] grid = new CellState[size][size];
+            for (int r = 0; r < size; r++) {
+                for (int c = 0; c < size; c++) {
+                    grid[r][c] = random.nextBoolean() ? CellState.FILLED : CellState.EMPTY;
+                }
+            }
+            LineClues clues = new LineClues(ConcurrentPropagator.computeClues(grid, true),
+                    ConcurrentPropagator.computeClues(grid, false));
+            SolutionEnumerator enumerator = new SolutionEnumerator(clues, size, size);
+
+            long t0 = System.nanoTime();
+            long sequential = enumerator.count(limit);
+            long t1 = System.nanoTime();
+            long parallel = enumerator.stream(true).limit(limit).count();
+            long t2 = System.nanoTime();
+            System.out.println(String.format("  grille %d : %d solutions (%d ms) | parallèle %d (%d ms)",
+                    i, sequential, (t1 - t0) / 1_000_000, parallel, (t2 - t1) / 1_000_000));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,65 @@
+/**
+ * Budget d'une résolution : échéance, nombre maximal de nœuds et jeton d'annulation.
+ * Les stratégies appellent shouldStop() dans leurs boucles internes ; le test ne coûte
+ * qu'une lecture volatile et une lecture d'horloge.
+ */
+public class SolveBudget {
+
+    private final long deadlineMs;
+    private final long maxNodes;
+    private final CancellationToken token;
+
+    public SolveBudget(long timeoutMs, long maxNodes, CancellationToken token) {
+        this.deadlineMs = deadlineAfter(timeoutMs);
+        this.maxNodes = maxNodes;
+        this.token = token != null ? token : new CancellationToken();
+    }
+
+    private SolveBudget(SolveBudget base, CancellationToken token) {
+        this.deadlineMs = base.deadlineMs;
+        this.maxNodes = base.maxNodes;
+        this.token = token;
+    }
+
+    public static SolveBudget unlimited() {
+        return new SolveBudget(Long.MAX_VALUE, Long.MAX_VALUE, null);
+    }
+
+    public static SolveBudget ofTimeout(long timeoutMs) {
+        return new SolveBudget(timeoutMs, Long.MAX_VALUE, null);
+    }
+
+    /** Même échéance et même limite de nœuds, avec un autre jeton. */
+    public SolveBudget withToken(CancellationToken other) {
+        return new SolveBudget(this, other);
+    }
+
+    private static long deadlineAfter(long timeoutMs) {
+        long now = System.currentTimeMillis();
+        return timeoutMs >= Long.MAX_VALUE - now ? Long.MAX_VALUE : now + timeoutMs;
+    }
+
+    // Annulé par le jeton ou par interruption du thread
+    public boolean isCancelled() {
+        return token.isCancelled() || Thread.currentThread().isInterrupted();
+    }
+
+    public boolean isExpired() {
+        return System.currentTimeMillis() > deadlineMs;
+    }
+
+    public boolean shouldStop(long nodes) {
+        return nodes >= maxNodes || isCancelled() || isExpired();
+    }
+
+    /** Raison de l'arrêt pour les statistiques. */
+    public String stopReason(long nodes) {
+        if (isCancelled()) return "Annulé";
+        if (nodes >= maxNodes) return "Limite de nœuds atteinte";
+        return "Timeout";
+    }
+
+    public long getDeadlineMs() { return deadlineMs; }
+    public long getMaxNodes() { return maxNodes; }
+    public CancellationToken getToken() { return token; }
+}
\ No newline at end of file
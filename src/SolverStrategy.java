@@ -4,6 +4,16 @@ public interface SolverStrategy {
     
     boolean solve(Nonogram nonogram);
     
+    // Résolution bornée : échéance, limite de nœuds et annulation coopérative
+    default boolean solve(Nonogram nonogram, SolveBudget budget) {
+        return solve(nonogram);
+    }
+    
+    // Mode « à tout moment » : si la recherche s'arrête sans solution, la grille reçoit l'état
+    // cohérent le plus déterminé rencontré, et la complétion donne son pourcentage de cases connues
+    default void setAnytimeMode(boolean enabled) {
+    }
+    
   
     String getName();
     
@@ -45,6 +55,25 @@ class SolverStatistics {
     private String errorMessage;
     
     
+    private long cacheHits;
+    private long cacheLookups;
+    
+    
+    private int probeCount;
+    private int cellsSolvedByProbing;
+    
+    
+    private int backjumpCount;
+    private long jumpDistanceTotal;
+    private int maxJumpDistance;
+    private long nodesSaved;
+    private int restartCount;
+    private long transpositionLookups;
+    private long transpositionHits;
+    private long symmetryPrunes;
+    private int componentCount;
+    
+    
     public SolverStatistics() {
         this.executionTimeMs = 0;
         this.totalSteps = 0;
@@ -54,6 +83,17 @@ class SolverStatistics {
         this.completionPercentage = 0.0;
         this.solved = false;
         this.errorMessage = "";
+        this.cacheHits = 0;
+        this.cacheLookups = 0;
+        this.probeCount = 0;
+        this.cellsSolvedByProbing = 0;
+        this.backjumpCount = 0;
+        this.jumpDistanceTotal = 0;
+        this.maxJumpDistance = 0;
+        this.nodesSaved = 0;
+        this.restartCount = 0;
+        this.transpositionLookups = 0;
+        this.transpositionHits = 0;
     }
     
    
@@ -138,6 +178,114 @@ class SolverStatistics {
         this.errorMessage = errorMessage;
     }
     
+    public long getCacheHits() {
+        return cacheHits;
+    }
+    
+    public void setCacheHits(long cacheHits) {
+        this.cacheHits = cacheHits;
+    }
+    
+    public long getCacheLookups() {
+        return cacheLookups;
+    }
+    
+    public void setCacheLookups(long cacheLookups) {
+        this.cacheLookups = cacheLookups;
+    }
+    
+    public int getProbeCount() {
+        return probeCount;
+    }
+    
+    public void setProbeCount(int probeCount) {
+        this.probeCount = probeCount;
+    }
+    
+    public int getCellsSolvedByProbing() {
+        return cellsSolvedByProbing;
+    }
+    
+    public void setCellsSolvedByProbing(int cellsSolvedByProbing) {
+        this.cellsSolvedByProbing = cellsSolvedByProbing;
+    }
+    
+    public int getBackjumpCount() {
+        return backjumpCount;
+    }
+    
+    public long getJumpDistanceTotal() {
+        return jumpDistanceTotal;
+    }
+    
+    public int getMaxJumpDistance() {
+        return maxJumpDistance;
+    }
+    
+    public double getAverageJumpDistance() {
+        return backjumpCount == 0 ? 0.0 : (double) jumpDistanceTotal / backjumpCount;
+    }
+    
+    public void recordBackjump(int distance) {
+        this.backjumpCount++;
+        this.jumpDistanceTotal += distance;
+        this.maxJumpDistance = Math.max(maxJumpDistance, distance);
+    }
+    
+    public long getNodesSaved() {
+        return nodesSaved;
+    }
+    
+    public void setNodesSaved(long nodesSaved) {
+        this.nodesSaved = nodesSaved;
+    }
+    
+    public void incrementNodesSaved() {
+        this.nodesSaved++;
+    }
+    
+    public int getRestartCount() {
+        return restartCount;
+    }
+    
+    public void incrementRestarts() {
+        this.restartCount++;
+    }
+    
+    public long getTranspositionLookups() {
+        return transpositionLookups;
+    }
+    
+    public long getTranspositionHits() {
+        return transpositionHits;
+    }
+    
+    public void setTranspositionStats(long lookups, long hits) {
+        this.transpositionLookups = lookups;
+        this.transpositionHits = hits;
+    }
+    
+    public long getSymmetryPrunes() {
+        return symmetryPrunes;
+    }
+    
+    public void incrementSymmetryPrunes() {
+        this.symmetryPrunes++;
+    }
+    
+    // Composantes indépendantes résolues séparément (0 ou 1 : grille d'un seul tenant)
+    public int getComponentCount() {
+        return componentCount;
+    }
+    
+    public void setComponentCount(int componentCount) {
+        this.componentCount = componentCount;
+    }
+    
+    public double getCacheHitRatio() {
+        return cacheLookups == 0 ? 0.0 : (cacheHits * 100.0) / cacheLookups;
+    }
+    
    
     public void printSummary() {
         System.out.println("=== STATISTIQUES DE RÉSOLUTION ===");
@@ -148,6 +296,31 @@ class SolverStatistics {
         System.out.println("Cases par déduction : " + cellsSolvedByDeduction);
         System.out.println("Cases par essai : " + cellsSolvedByGuessing);
         System.out.println("Complétion : " + String.format("%.1f", completionPercentage) + "%");
+        if (probeCount > 0) {
+            System.out.println("Sondages : " + probeCount + " (" + cellsSolvedByProbing + " cases gagnées)");
+        }
+        if (backjumpCount > 0) {
+            System.out.println("Sauts arrière : " + backjumpCount + " (distance moy. "
+                + String.format("%.1f", getAverageJumpDistance()) + ", max " + maxJumpDistance
+                + ", " + nodesSaved + " branches évitées)");
+        }
+        if (restartCount > 0) {
+            System.out.println("Redémarrages : " + restartCount);
+        }
+        if (transpositionLookups > 0) {
+            System.out.println("Table de transposition : " + transpositionHits + " états morts retrouvés / "
+                + transpositionLookups + " consultations");
+        }
+        if (symmetryPrunes > 0) {
+            System.out.println("Élagages par symétrie : " + symmetryPrunes);
+        }
+        if (componentCount > 1) {
+            System.out.println("Composantes indépendantes : " + componentCount);
+        }
+        if (cacheLookups > 0) {
+            System.out.println("Cache lignes : " + String.format("%.1f", getCacheHitRatio()) + "% ("
+                + cacheHits + "/" + cacheLookups + ")");
+        }
         
         if (!solved && !errorMessage.isEmpty()) {
             System.out.println("Erreur : " + errorMessage);
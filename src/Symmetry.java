@@ -0,0 +1,140 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Symétries des indices parmi celles du carré (miroirs, rotations, transposition si la
+ * grille est carrée). Si les indices sont invariants par une transformation, l'image d'une
+ * solution est une solution : on ne garde que la plus petite de chaque orbite dans l'ordre
+ * lexicographique des cases (rempli avant barré). Une grille partielle est élaguée dès
+ * qu'un préfixe connu la rend plus grande que l'une de ses images. Pour compter, chaque
+ * solution gardée vaut la taille de son orbite.
+ */
+class Symmetry {
+
+    // Permutations des cases, identité exclue : l'ensemble des symétries forme un groupe
+    private final int[][] maps;
+
+    private Symmetry(int[][] maps) {
+        this.maps = maps;
+    }
+
+    /** Symétries des indices, ou null s'il n'y en a aucune. */
+    static Symmetry detect(int[][] rowClues, int[][] colClues) {
+        int height = rowClues.length;
+        int width = colClues.length;
+        List<int[]> maps = new ArrayList<>();
+        for (int t = 1; t < 8; t++) {
+            boolean transpose = (t & 4) != 0;
+            boolean flipRows = (t & 2) != 0;
+            boolean flipCols = (t & 1) != 0;
+            if (transpose && width != height) continue;
+            if (preserves(rowClues, colClues, transpose, flipRows, flipCols)) {
+                maps.add(cellMap(width, height, transpose, flipRows, flipCols));
+            }
+        }
+        return maps.isEmpty() ? null : new Symmetry(maps.toArray(new int[0][]));
+    }
+
+    static Symmetry detect(LineClues clues) {
+        return detect(clues.getRowClues(), clues.getColClues());
+    }
+
+    static Symmetry detect(Propagator propagator) {
+        int height = propagator.getHeight();
+        int[][] rows = new int[height][];
+        int[][] cols = new int[propagator.getWidth()][];
+        for (int line = 0; line < propagator.getLineCount(); line++) {
+            if (line < height) {
+                rows[line] = propagator.getBlocks(line);
+            } else {
+                cols[line - height] = propagator.getBlocks(line);
+            }
+        }
+        return detect(rows, cols);
+    }
+
+    // Chaque ligne doit avoir l'indice de son image, retourné si l'image est parcourue à l'envers
+    private static boolean preserves(int[][] rows, int[][] cols, boolean transpose,
+                                     boolean flipRows, boolean flipCols) {
+        int height = rows.length;
+        int width = cols.length;
+        for (int r = 0; r < height; r++) {
+            int[] image = transpose ? cols[flipCols ? width - 1 - r : r] : rows[flipRows ? height - 1 - r : r];
+            if (!sameClue(rows[r], image, transpose ? flipRows : flipCols)) return false;
+        }
+        for (int c = 0; c < width; c++) {
+            int[] image = transpose ? rows[flipRows ? height - 1 - c : c] : cols[flipCols ? width - 1 - c : c];
+            if (!sameClue(cols[c], image, transpose ? flipCols : flipRows)) return false;
+        }
+        return true;
+    }
+
+    private static boolean sameClue(int[] clue, int[] image, boolean reversed) {
+        if (!reversed) {
+            return Arrays.equals(clue, image);
+        }
+        if (clue.length != image.length) return false;
+        for (int i = 0; i < clue.length; i++) {
+            if (clue[i] != image[image.length - 1 - i]) return false;
+        }
+        return true;
+    }
+
+    private static int[] cellMap(int width, int height, boolean transpose, boolean flipRows, boolean flipCols) {
+        int[] map = new int[width * height];
+        for (int r = 0; r < height; r++) {
+            for (int c = 0; c < width; c++) {
+                int row = transpose ? c : r;
+                int col = transpose ? r : c;
+                if (flipRows) row = height - 1 - row;
+                if (flipCols) col = width - 1 - col;
+                map[r * width + c] = row * width + col;
+            }
+        }
+        return map;
+    }
+
+    /** Nombre d'éléments du groupe, identité comprise. */
+    int order() {
+        return maps.length + 1;
+    }
+
+    boolean violates(Propagator propagator) {
+        return violates(propagator::get);
+    }
+
+    /**
+     * Vrai si la grille (0 = inconnue, 1 = remplie, 2 = barrée) dépasse déjà l'une de ses
+     * images : on compare case par case jusqu'à la première différence ou inconnue.
+     */
+    boolean violates(IntUnaryOperator value) {
+        for (int[] map : maps) {
+            for (int cell = 0; cell < map.length; cell++) {
+                int own = value.applyAsInt(cell);
+                int image = value.applyAsInt(map[cell]);
+                if (own == 0 || image == 0 || own < image) break;
+                if (own > image) return true;
+            }
+        }
+        return false;
+    }
+
+    int orbitSize(Propagator propagator) {
+        return orbitSize(propagator::get);
+    }
+
+    /** Nombre de solutions distinctes dans l'orbite d'une grille complète. */
+    int orbitSize(IntUnaryOperator value) {
+        int fixed = 1;
+        for (int[] map : maps) {
+            boolean same = true;
+            for (int cell = 0; cell < map.length && same; cell++) {
+                same = value.applyAsInt(cell) == value.applyAsInt(map[cell]);
+            }
+            if (same) fixed++;
+        }
+        return order() / fixed;
+    }
+}
\ No newline at end of file
@@ -4,6 +4,9 @@ import java.io.*;
 
 public class TestConsoleStrategies {
    
+    // Unicité non prouvée dans ce délai : la grille est refusée
+    private static final long TIMEOUT_UNICITE_MS = 2000;
+   
     private Scanner scanner;
     private List<SolverStrategy> strategies;
     private Random random;
@@ -23,6 +26,12 @@ public class TestConsoleStrategies {
         strategies.add(new BacktrackingSolver());
         strategies.add(new AIHeuristicStrategy());
         strategies.add(new AdvancedAIStrategy()); // 🆕 NOUVELLE STRATÉGIE
+        strategies.add(new SatSolverStrategy());
+        strategies.add(new LdsStrategy());
+        strategies.add(new BeamSearchStrategy());
+        strategies.add(new AnnealingStrategy());
+        strategies.add(new GeneticStrategy());
+        strategies.add(new PortfolioStrategy());
     }
    
     public void lancerMenuPrincipal() {
@@ -88,8 +97,8 @@ public class TestConsoleStrategies {
         SolverStrategy strategie = strategies.get(choixStrat);
        
         // Choisir la taille
-        System.out.print("\n📏 Taille du puzzle (3-7) : ");
-        int taille = lireChoix(3, 7);
+        System.out.print("\n📏 Taille du puzzle (3-15) : ");
+        int taille = lireChoix(3, 15);
        
         // Générer un puzzle UNIQUE avec solution unique
         System.out.println("\n🎲 Génération d'un puzzle " + taille + "×" + taille + " aléatoire...");
@@ -146,8 +155,8 @@ public class TestConsoleStrategies {
         System.out.println("=".repeat(80));
        
         // Choisir la taille
-        System.out.print("\n📏 Taille du puzzle (3-7) : ");
-        int taille = lireChoix(3, 7);
+        System.out.print("\n📏 Taille du puzzle (3-15) : ");
+        int taille = lireChoix(3, 15);
        
         // Générer UN puzzle aléatoire
         System.out.println("\n🎲 Génération d'un puzzle " + taille + "×" + taille + " aléatoire...");
@@ -430,7 +439,7 @@ public class TestConsoleStrategies {
             LineClues clues = new LineClues(rowClues, colClues);
            
            
-            if (PuzzleValidator.hasUniqueSolution(clues, taille, taille)) {
+            if (PuzzleValidator.hasUniqueSolution(clues, taille, taille, SolveBudget.ofTimeout(TIMEOUT_UNICITE_MS))) {
                 return new Nonogram(taille, taille, clues, solution);
             }
             
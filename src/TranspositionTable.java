@@ -0,0 +1,66 @@
+/**
+ * Table de transposition bornée des états morts : hachage Zobrist (64 bits) d'une grille
+ * partielle au point fixe de la propagation, dont tout le sous-arbre a échoué. Un autre
+ * ordre de décisions qui retombe sur le même état coupe aussitôt.
+ * Seaux de deux entrées : l'une garde l'état au plus grand sous-arbre (le plus de cases
+ * inconnues, donc le plus de travail évité), l'autre est remplacée à chaque écriture.
+ * La taille est fixée en Mo à la création (12 octets par entrée).
+ */
+class TranspositionTable {
+
+    private static final int BYTES_PER_ENTRY = Long.BYTES + Integer.BYTES;
+
+    private final long[] keys;
+    private final int[] work;
+    private final int mask;
+
+    private long lookups;
+    private long hits;
+    private long stores;
+
+    TranspositionTable(int megabytes) {
+        long entries = Math.max(2, (long) megabytes * 1024 * 1024 / BYTES_PER_ENTRY);
+        int buckets = Integer.highestOneBit((int) Math.min(entries / 2, 1 << 30));
+        this.keys = new long[buckets * 2];
+        this.work = new int[buckets * 2];
+        this.mask = buckets - 1;
+    }
+
+    boolean isDead(long hash) {
+        lookups++;
+        int slot = bucket(hash);
+        // La clé 0 marque une entrée vide ; un hachage nul n'est jamais stocké
+        if (hash != 0 && (keys[slot] == hash || keys[slot + 1] == hash)) {
+            hits++;
+            return true;
+        }
+        return false;
+    }
+
+    /** Enregistre un état mort ; unknownCells mesure la taille du sous-arbre évité. */
+    void storeDead(long hash, int unknownCells) {
+        if (hash == 0) return;
+        stores++;
+        int slot = bucket(hash);
+        if (keys[slot] == hash || keys[slot + 1] == hash) return;
+        if (unknownCells >= work[slot]) {
+            // L'ancien occupant de la place préférée descend dans la place tournante
+            keys[slot + 1] = keys[slot];
+            work[slot + 1] = work[slot];
+            keys[slot] = hash;
+            work[slot] = unknownCells;
+        } else {
+            keys[slot + 1] = hash;
+            work[slot + 1] = unknownCells;
+        }
+    }
+
+    private int bucket(long hash) {
+        return (int) ((hash ^ (hash >>> 32)) & mask) * 2;
+    }
+
+    long getLookups() { return lookups; }
+    long getHits() { return hits; }
+    long getStores() { return stores; }
+    int getCapacity() { return keys.length; }
+}
\ No newline at end of file